@@ -2,6 +2,7 @@ package ru.ifmo.cs;
 
 import ru.ifmo.cs.model.InterpolationPoint;
 import ru.ifmo.cs.plotting.JFreeChartBuilder;
+import ru.ifmo.cs.service.InterpolationService;
 
 import javax.swing.*;
 import java.util.ArrayList;
@@ -26,7 +27,8 @@ public class ChartTest {
                 "Тест JFreeChart",
                 dataPoints,
                 "sin(x² + 3)/(x - 1)",
-                0.5
+                0.5,
+                new InterpolationService()
             );
 
             JFrame frame = new JFrame("Тест JFreeChart");
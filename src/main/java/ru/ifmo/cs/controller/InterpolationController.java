@@ -2,7 +2,9 @@ package ru.ifmo.cs.controller;
 
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
@@ -13,16 +15,54 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TextFieldTableCell;
 import javafx.util.converter.DoubleStringConverter;
+import ru.ifmo.cs.model.CrossValidationResult;
+import ru.ifmo.cs.model.ErrorProfile;
+import ru.ifmo.cs.model.ErrorStatistics;
+import ru.ifmo.cs.model.FiniteDifferenceTable;
 import ru.ifmo.cs.model.InterpolationPoint;
 import ru.ifmo.cs.model.InterpolationResult;
+import ru.ifmo.cs.model.InterpolationMethod;
+import ru.ifmo.cs.model.NodeSweepResult;
+import ru.ifmo.cs.model.NodeDistribution;
+import ru.ifmo.cs.model.PointLoadReport;
+import ru.ifmo.cs.model.PointSet;
+import ru.ifmo.cs.model.Precision;
+import ru.ifmo.cs.model.ReferenceFunction;
+import ru.ifmo.cs.service.ChebyshevInterpolant;
+import ru.ifmo.cs.service.DatasetAnalysis;
+import ru.ifmo.cs.service.ErrorProfileEngine;
 import ru.ifmo.cs.service.InterpolationService;
+import ru.ifmo.cs.service.LoadMonitor;
+import ru.ifmo.cs.service.NewtonInterpolant;
+import ru.ifmo.cs.service.NodeCountSweep;
+import ru.ifmo.cs.service.OffHeapPiecewiseInterpolant;
+import ru.ifmo.cs.service.OffHeapPointStorage;
+import ru.ifmo.cs.service.PiecewiseInterpolant;
 import ru.ifmo.cs.service.FileService;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 
 public class InterpolationController {
+    // Для большего числа узлов глобальные многочлены и таблица разностей не строятся, считается только
+    // кусочная интерполяция и рациональная Флоатера–Хорманна
+    private static final int PIECEWISE_THRESHOLD = 20;
+    private static final int PIECEWISE_DEGREE = 4;
+    private static final int FLOATER_HORMANN_DEGREE = 3;
+    private static final int SWEEP_SAMPLES = 2001;
+    private static final int PROFILE_SAMPLES = 100_001;
+    // С какого размера файл загружается параллельно через отображение в память
+    private static final long LARGE_FILE_BYTES = 16L << 20;
+    private static final String BINARY_EXTENSION = ".ipts";
+    // Большие двоичные файлы открываются вне кучи; в таблице и на графике тогда только огибающая
+    private static final int ENVELOPE_BUCKETS = 2000;
+    private static final int PIECEWISE_PLOT_SAMPLES = 2001;
 
     @FXML private TableView<InterpolationPoint> pointsTable;
     @FXML private TableColumn<InterpolationPoint, Double> xColumn;
@@ -31,6 +71,7 @@ public class InterpolationController {
     @FXML private TextField xInput;
     @FXML private TextField yInput;
     @FXML private TextField targetXInput;
+    @FXML private CheckBox extendedPrecisionCheckBox;
     @FXML private Button addPointButton;
 
     @FXML private LineChart<Number, Number> chart;
@@ -46,17 +87,33 @@ public class InterpolationController {
     @FXML private TextField intervalStartInput;
     @FXML private TextField intervalEndInput;
     @FXML private TextField pointsCountInput;
+    @FXML private ComboBox<NodeDistribution> nodeDistributionComboBox;
     @FXML private Button generateFunctionButton;
+    @FXML private Button loadFileButton;
+    @FXML private Button cancelLoadButton;
+    @FXML private ProgressBar loadProgressBar;
 
     private final ObservableList<InterpolationPoint> dataPoints = FXCollections.observableArrayList();
     private final InterpolationService interpolationService = new InterpolationService();
     private final FileService fileService = new FileService();
+    private PointLoadTask loadTask;
+    private ResultDetailsTask detailsTask;
+    private final NodeCountSweep nodeCountSweep = new NodeCountSweep();
+    private final ErrorProfileEngine errorProfileEngine = new ErrorProfileEngine(interpolationService);
+    // Многочлен Ньютона по текущим узлам, дополняется за O(n) при добавлении точки
+    private NewtonInterpolant liveNewton;
+    // Набор текущих узлов и подготовленные по нему кусочные модели; сбрасываются при любом изменении точек
+    private PointSet livePoints;
+    private final Map<InterpolationMethod, PiecewiseInterpolant> piecewiseModels = new EnumMap<>(InterpolationMethod.class);
+    // Набор из большого двоичного файла вне кучи; закрывается при любом изменении точек таблицы
+    private OffHeapPointStorage offHeapPoints;
 
     @FXML
     public void initialize() {
         setupTable();
         setupChart();
         setupFunctionComboBox();
+        setupIncrementalNewton();
         clearAll();
     }
 
@@ -74,16 +131,71 @@ public class InterpolationController {
         xColumn.setOnEditCommit(event -> {
             InterpolationPoint point = event.getRowValue();
             point.setX(event.getNewValue());
+            liveNewton = null;
+            livePoints = null;
+            closeOffHeapPoints();
             updateStatus("Точка обновлена: " + point);
         });
 
         yColumn.setOnEditCommit(event -> {
             InterpolationPoint point = event.getRowValue();
             point.setY(event.getNewValue());
+            liveNewton = null;
+            livePoints = null;
+            closeOffHeapPoints();
             updateStatus("Точка обновлена: " + point);
         });
     }
 
+    private void setupIncrementalNewton() {
+        dataPoints.addListener((ListChangeListener<InterpolationPoint>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    // Многочлен не зависит от порядка узлов
+                    continue;
+                }
+                livePoints = null;
+                closeOffHeapPoints();
+                if (liveNewton != null && change.wasAdded() && !change.wasRemoved()
+                        && change.getFrom() == liveNewton.size()) {
+                    for (InterpolationPoint point : change.getAddedSubList()) {
+                        liveNewton.addNode(point.getX(), point.getY());
+                    }
+                } else {
+                    liveNewton = null;
+                }
+            }
+        });
+    }
+
+    private NewtonInterpolant currentNewton() {
+        if (liveNewton == null) {
+            liveNewton = NewtonInterpolant.of(dataPoints);
+        }
+        return liveNewton;
+    }
+
+    private void closeOffHeapPoints() {
+        if (offHeapPoints != null) {
+            offHeapPoints.close();
+            offHeapPoints = null;
+        }
+    }
+
+    private PointSet currentPointSet() {
+        if (livePoints == null) {
+            livePoints = PointSet.of(dataPoints);
+            piecewiseModels.clear();
+        }
+        return livePoints;
+    }
+
+    private PiecewiseInterpolant piecewiseModel(InterpolationMethod method) {
+        PointSet points = currentPointSet();
+        return piecewiseModels.computeIfAbsent(method,
+            m -> interpolationService.preparePiecewise(points, m, PIECEWISE_DEGREE));
+    }
+
     private void setupChart() {
         chart.setAnimated(false);
         chart.setCreateSymbols(false);
@@ -147,11 +259,13 @@ public class InterpolationController {
     }
 
     private void setupFunctionComboBox() {
-        functionComboBox.getItems().addAll(
-            "sin(x² + 3)/(x - 1)", "tan(x+1)/(x²-1)", "√(x⁴+3x) * e^(-x)",
-            "cos(3x) + ln(x+2)", "1/(x²+sin(x)) + 5"
-        );
-        functionComboBox.setValue("sin(x² + 3)/(x - 1)");
+        for (ReferenceFunction function : ReferenceFunction.values()) {
+            functionComboBox.getItems().add(function.getDisplayName());
+        }
+        functionComboBox.setValue(ReferenceFunction.SIN_RATIO.getDisplayName());
+
+        nodeDistributionComboBox.getItems().addAll(NodeDistribution.values());
+        nodeDistributionComboBox.setValue(NodeDistribution.UNIFORM);
 
         functionComboBox.setOnAction(e -> {
             if (!dataPoints.isEmpty()) {
@@ -204,7 +318,10 @@ public class InterpolationController {
 
             dataPoints.add(new InterpolationPoint(x, y));
             clearInputs();
-            updateStatus("Точка добавлена: (" + x + ", " + y + "). Нажмите 'Интерполировать' для интерполяции.");
+            // Предпросмотр по глобальному многочлену Ньютона только для небольших наборов
+            String preview = dataPoints.size() <= PIECEWISE_THRESHOLD ? livePreview() : "";
+            updateStatus("Точка добавлена: (" + x + ", " + y + ")." + preview
+                       + " Нажмите 'Интерполировать' для интерполяции.");
             showOutdatedResults();
         } catch (NumberFormatException e) {
             updateStatus("Ошибка: " + e.getMessage());
@@ -227,6 +344,7 @@ public class InterpolationController {
 
     @FXML
     private void handleClearAll() {
+        cancelResultDetails();
         dataPoints.clear();
         chart.getData().clear();
         resultsArea.clear();
@@ -235,15 +353,99 @@ public class InterpolationController {
 
     @FXML
     private void handleLoadFile() {
+        if (loadTask != null && loadTask.isRunning()) return;
         File file = fileService.showOpenDialog(pointsTable.getScene().getWindow());
         if (file == null) return;
 
-        try {
-            List<InterpolationPoint> points = fileService.loadInterpolationPoints(file);
+        // Разбор идёт в фоновом потоке, таблица обновляется одним setAll после завершения
+        PointLoadTask task = new PointLoadTask(file);
+        task.setOnSucceeded(event -> {
+            // setAll закрывает прежнее хранилище вне кучи, новое подключается после
+            dataPoints.setAll(task.getValue());
+            offHeapPoints = task.getOffHeapPoints();
+            finishLoading(task.getMessage());
+        });
+        task.setOnFailed(event -> finishLoading("Ошибка загрузки: " + task.getException().getMessage()));
+        task.setOnCancelled(event -> finishLoading("Загрузка отменена"));
+
+        loadTask = task;
+        loadFileButton.setDisable(true);
+        loadProgressBar.progressProperty().bind(task.progressProperty());
+        setLoadingControlsVisible(true);
+        updateStatus("Загрузка " + file.getName() + "...");
+
+        Thread thread = new Thread(task, "point-file-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-            List<InterpolationPoint> validPoints = new ArrayList<>();
-            int invalidCount = 0;
+    @FXML
+    private void handleCancelLoad() {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+    }
+
+    private void finishLoading(String message) {
+        loadProgressBar.progressProperty().unbind();
+        setLoadingControlsVisible(false);
+        loadFileButton.setDisable(false);
+        loadTask = null;
+        updateStatus(message);
+    }
+
+    private void setLoadingControlsVisible(boolean visible) {
+        loadProgressBar.setVisible(visible);
+        loadProgressBar.setManaged(visible);
+        cancelLoadButton.setVisible(visible);
+        cancelLoadButton.setManaged(visible);
+    }
+
+    // Загрузка файла вне потока JavaFX: прогресс берётся из парсера, итоговая строка статуса — из getMessage
+    private class PointLoadTask extends Task<List<InterpolationPoint>> {
+        private final File file;
+        private volatile OffHeapPointStorage offHeapPoints;
+
+        PointLoadTask(File file) {
+            this.file = file;
+        }
+
+        OffHeapPointStorage getOffHeapPoints() {
+            return offHeapPoints;
+        }
 
+        @Override
+        protected List<InterpolationPoint> call() throws Exception {
+            LoadMonitor monitor = new LoadMonitor() {
+                @Override
+                public void progress(long processedBytes, long totalBytes) {
+                    updateProgress(processedBytes, totalBytes);
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return PointLoadTask.this.isCancelled();
+                }
+            };
+
+            String details = "";
+            List<InterpolationPoint> points;
+            boolean binary = fileService.isBinaryPointFile(file);
+            if (binary && file.length() >= LARGE_FILE_BYTES && fileService.isOffHeapStorageSupported()) {
+                return openOffHeap();
+            }
+            if (binary) {
+                points = fileService.loadBinaryPointSet(file).toPoints();
+            } else if (file.length() >= LARGE_FILE_BYTES) {
+                PointLoadReport report = fileService.loadLargePointSet(file, monitor);
+                points = report.getPoints().toPoints();
+                details = " из " + report.getLines() + " строк, " + report.getChunks() + " кусков";
+            } else {
+                points = fileService.loadInterpolationPoints(file, monitor);
+            }
+
+            List<InterpolationPoint> validPoints = new ArrayList<>(points.size());
+            int invalidCount = 0;
             for (InterpolationPoint point : points) {
                 if (Double.isFinite(point.getX()) && Double.isFinite(point.getY())) {
                     validPoints.add(point);
@@ -253,15 +455,41 @@ public class InterpolationController {
             }
 
             if (validPoints.size() < 2) {
-                updateStatus("Ошибка: Недостаточно валидных точек для интерполяции (минимум 2)");
-                return;
+                throw new IllegalArgumentException("Недостаточно валидных точек для интерполяции (минимум 2)");
             }
 
-            dataPoints.setAll(validPoints);
-            updateStatus("Загружено точек: " + validPoints.size() +
-                        (invalidCount > 0 ? " (пропущено некорректных: " + invalidCount + ")" : ""));
-        } catch (Exception e) {
-            updateStatus("Ошибка загрузки: " + e.getMessage());
+            updateMessage("Загружено точек: " + validPoints.size() + details +
+                        (invalidCount > 0 ? " (пропущено некорректных: " + invalidCount + ")" : "") +
+                        piecewiseNote(validPoints.size()));
+            return validPoints;
+        }
+
+        // Большие наборы считаются только кусочно; об этом сообщается сразу при загрузке, а не после расчёта
+        private String piecewiseNote(long count) {
+            return count > PIECEWISE_THRESHOLD
+                    ? ". Узлов больше " + PIECEWISE_THRESHOLD + ": глобальные многочлены не строятся, расчёт кусочный"
+                    : "";
+        }
+
+        // Файл отображается в память без копирования в кучу, в таблицу идёт огибающая из ENVELOPE_BUCKETS групп
+        private List<InterpolationPoint> openOffHeap() throws IOException {
+            OffHeapPointStorage storage = fileService.openOffHeapPointStorage(file);
+            try {
+                if (storage.size() < 2 || !storage.isSorted()) {
+                    throw new IllegalArgumentException("Двоичный файл должен содержать минимум 2 отсортированные точки");
+                }
+                PointSet envelope = storage.decimate(ENVELOPE_BUCKETS);
+                if (isCancelled()) {
+                    throw new CancellationException("Загрузка отменена");
+                }
+                updateMessage("Открыто точек вне кучи: " + storage.size() + ", в таблице огибающая из "
+                        + envelope.size() + " точек" + piecewiseNote(storage.size()));
+                offHeapPoints = storage;
+                return envelope.toPoints();
+            } catch (RuntimeException e) {
+                storage.close();
+                throw e;
+            }
         }
     }
 
@@ -272,11 +500,20 @@ public class InterpolationController {
             return;
         }
 
+        if (offHeapPoints != null) {
+            updateStatus("Ошибка: Набор открыт вне кучи, в таблице только его огибающая — сохранение недоступно");
+            return;
+        }
+
         File file = fileService.showSaveDialog(pointsTable.getScene().getWindow());
         if (file == null) return;
 
         try {
-            fileService.saveInterpolationPoints(dataPoints, file);
+            if (file.getName().toLowerCase().endsWith(BINARY_EXTENSION)) {
+                fileService.saveBinaryPointSet(PointSet.of(dataPoints), file);
+            } else {
+                fileService.saveInterpolationPoints(dataPoints, file);
+            }
             updateStatus("Данные сохранены в: " + file.getName());
         } catch (Exception e) {
             updateStatus("Ошибка сохранения: " + e.getMessage());
@@ -307,13 +544,15 @@ public class InterpolationController {
             }
 
             dataPoints.clear();
-            double step = (end - start) / (count - 1);
+            NodeDistribution distribution = nodeDistributionComboBox.getValue() != null
+                    ? nodeDistributionComboBox.getValue() : NodeDistribution.UNIFORM;
+            double[] nodes = distribution.nodes(start, end, count);
             int validPoints = 0;
             int skippedPoints = 0;
             StringBuilder skippedInfo = new StringBuilder();
 
             for (int i = 0; i < count; i++) {
-                double x = start + i * step;
+                double x = nodes[i];
                 try {
                     double y = calculateFunction(function, x);
                     if (Double.isFinite(y)) {
@@ -368,7 +607,8 @@ public class InterpolationController {
                 return;
             }
 
-            String statusMessage = "Сгенерировано " + validPoints + " валидных точек для функции " + function;
+            String statusMessage = "Сгенерировано " + validPoints + " валидных точек ("
+                    + distribution.getDisplayName().toLowerCase() + " узлы) для функции " + function;
             if (skippedPoints > 0) {
                 statusMessage += "\nПропущено " + skippedPoints + " точек с некорректными значениями";
                 if (skippedPoints <= 3) {
@@ -386,30 +626,72 @@ public class InterpolationController {
         }
     }
 
+    @FXML
+    private void handleNodeSweep() {
+        try {
+            ReferenceFunction function = ReferenceFunction.fromDisplayName(functionComboBox.getValue());
+            double start = parseDouble(intervalStartInput.getText(), "Начало интервала");
+            double end = parseDouble(intervalEndInput.getText(), "Конец интервала");
+            int count = Integer.parseInt(pointsCountInput.getText().trim());
+
+            if (count < 2 || count > 1000) {
+                updateStatus("Ошибка: Число узлов должно быть от 2 до 1000");
+                return;
+            }
+            NodeDistribution distribution = nodeDistributionComboBox.getValue() != null
+                    ? nodeDistributionComboBox.getValue() : NodeDistribution.UNIFORM;
+
+            cancelResultDetails();
+            NodeSweepResult sweep = nodeCountSweep.sweep(function::evaluate, start, end, distribution,
+                    count, SWEEP_SAMPLES);
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("Погрешность многочлена в зависимости от числа узлов\n");
+            sb.append("Функция: ").append(function.getDisplayName())
+              .append(", узлы: ").append(distribution.getDisplayName().toLowerCase())
+              .append(" (вложенные), контрольных точек: ").append(sweep.getSamples()).append("\n\n");
+            sb.append("   n  |  макс. ошибка  |  ср.-кв. ошибка\n");
+            sb.append("──────┼────────────────┼────────────────\n");
+            for (int i = 0; i < sweep.size(); i++) {
+                sb.append(String.format("%5d | %14.6e | %14.6e\n",
+                    sweep.getNodeCount(i), sweep.getMaxError(i), sweep.getRmsError(i)));
+            }
+            resultsArea.setText(sb.toString());
+
+            int best = sweep.getBestNodeCount();
+            updateStatus(best > 0
+                    ? "Наименьшая максимальная ошибка при n = " + best
+                    : "Ошибка не определена ни для одного числа узлов");
+        } catch (IllegalArgumentException e) {
+            updateStatus("Ошибка: " + e.getMessage());
+        }
+    }
+
     @FXML
     private void handleCalculate() {
+        cancelResultDetails();
+        if (offHeapPoints != null) {
+            calculateOffHeap();
+            return;
+        }
         if (dataPoints.size() < 2) {
             updateStatus("❌ Ошибка: Минимум 2 точки требуется для интерполяции");
             return;
         }
 
-        if (dataPoints.size() > 20) {
-            updateStatus("⚠️  Предупреждение: Большое количество точек может замедлить вычисления");
+        // Узлы набора отсортированы, поэтому совпадающие x стоят рядом
+        PointSet pointSet = currentPointSet();
+        for (int i = 1; i < pointSet.size(); i++) {
+            if (pointSet.getX(i) - pointSet.getX(i - 1) < 1e-15) {
+                updateStatus("❌ Ошибка: Найдены дублирующиеся x-координаты: x = " + pointSet.getX(i));
+                return;
+            }
         }
 
-        double minX = dataPoints.stream().mapToDouble(p -> p.getX()).min().orElse(0);
-        double maxX = dataPoints.stream().mapToDouble(p -> p.getX()).max().orElse(0);
+        double minX = pointSet.getMinX();
+        double maxX = pointSet.getMaxX();
         double range = maxX - minX;
 
-        for (int i = 0; i < dataPoints.size(); i++) {
-            for (int j = i + 1; j < dataPoints.size(); j++) {
-                if (Math.abs(dataPoints.get(i).getX() - dataPoints.get(j).getX()) < 1e-15) {
-                    updateStatus("❌ Ошибка: Найдены дублирующиеся x-координаты в точках " + i + " и " + j);
-                    return;
-                }
-            }
-        }
-
         dataPoints.sort((p1, p2) -> Double.compare(p1.getX(), p2.getX()));
 
         try {
@@ -431,13 +713,26 @@ public class InterpolationController {
                 }
             }
 
-            InterpolationResult result = new InterpolationResult(dataPoints, targetX);
+            if (pointSet.size() > PIECEWISE_THRESHOLD) {
+                calculatePiecewise(pointSet, targetX);
+                return;
+            }
 
-            double lagrangeValue = interpolationService.lagrangeInterpolation(dataPoints, targetX);
-            double newtonDividedValue = interpolationService.newtonDividedDifferences(dataPoints, targetX);
-            double newtonFiniteValue = interpolationService.newtonFiniteDifferences(dataPoints, targetX);
-            double stirlingValue = interpolationService.stirlingInterpolation(dataPoints, targetX);
-            double besselValue = interpolationService.besselInterpolation(dataPoints, targetX);
+            Precision precision = extendedPrecisionCheckBox.isSelected() ? Precision.EXTENDED : Precision.STANDARD;
+            interpolationService.setPrecision(precision);
+
+            InterpolationResult result = new InterpolationResult(dataPoints, targetX);
+            DatasetAnalysis analysis = interpolationService.analyze(pointSet);
+            FiniteDifferenceTable finiteDifferences = analysis.getFiniteDifferenceTable();
+
+            // Одна точка считается напрямую; разделённые разности в double поддерживаются инкрементально
+            double lagrangeValue = interpolationService.lagrangeInterpolation(analysis, targetX);
+            double newtonDividedValue = precision == Precision.EXTENDED
+                    ? interpolationService.newtonDividedDifferences(analysis, targetX)
+                    : currentNewton().evaluate(targetX);
+            double newtonFiniteValue = interpolationService.newtonFiniteDifferences(analysis, targetX);
+            double stirlingValue = interpolationService.stirlingInterpolation(analysis, targetX);
+            double besselValue = interpolationService.besselInterpolation(analysis, targetX);
 
             int errorCount = 0;
             StringBuilder errorMessages = new StringBuilder();
@@ -481,7 +776,15 @@ public class InterpolationController {
             result.setNewtonFiniteValue(newtonFiniteValue);
             result.setStirlingValue(stirlingValue);
             result.setBesselValue(besselValue);
-            result.setFiniteDifferencesTable(interpolationService.calculateFiniteDifferencesTable(dataPoints));
+            result.setFiniteDifferencesTable(finiteDifferences);
+            result.setPointSet(pointSet);
+            ChebyshevInterpolant chebyshev = interpolationService.prepareChebyshev(pointSet);
+            if (chebyshev.isValid()) {
+                result.setChebyshevValue(chebyshev.evaluate(targetX));
+            }
+            for (InterpolationMethod method : InterpolationMethod.values()) {
+                result.setUsedAlgorithm(method, analysis.algorithmFor(method, targetX));
+            }
 
         resultsArea.clear();
         chart.getData().clear();
@@ -489,7 +792,20 @@ public class InterpolationController {
         displayResults(result);
         plotGraphs(result);
 
-            updateStatus("Интерполяция завершена успешно");
+            // Скользящий контроль и профиль погрешности дописываются в отчёт из фонового потока;
+            // профиль в double-double слишком дорог
+            StringBuilder notes = new StringBuilder();
+            ReferenceFunction profileFunction = null;
+            if (functionComboBox.getValue() != null) {
+                if (precision == Precision.EXTENDED) {
+                    notes.append(". Профиль погрешности в режиме повышенной точности не строится");
+                } else {
+                    profileFunction = ReferenceFunction.fromDisplayName(functionComboBox.getValue());
+                }
+            }
+            startResultDetails(result, analysis, profileFunction);
+            notes.append(". Оценки погрешности считаются в фоне");
+            updateStatus("Интерполяция завершена успешно" + notes);
         } catch (NumberFormatException e) {
             updateStatus("Ошибка: " + e.getMessage());
         } catch (Exception e) {
@@ -498,55 +814,163 @@ public class InterpolationController {
         }
     }
 
-    private double calculateFunction(String function, double x) {
-        switch (function) {
-            case "sin(x² + 3)/(x - 1)":
-                if (Math.abs(x - 1) < 1e-15)
-                    return Double.NaN;
-                double numerator = Math.sin(x * x + 3);
-                if (!Double.isFinite(numerator))
-                    return Double.NaN;
-                return numerator / (x - 1);
-
-            case "tan(x+1)/(x²-1)":
-                if (Math.abs(x - 1) < 1e-15 || Math.abs(x + 1) < 1e-15)
-                    return Double.NaN;
-                double tanX1 = Math.tan(x + 1);
-                if (!Double.isFinite(tanX1))
-                    return Double.NaN;
-                return tanX1 / (x * x - 1);
-
-            case "√(x⁴+3x) * e^(-x)":
-                double x4 = x * x * x * x;
-                double sqrtArg = x4 + 3 * x;
-                if (sqrtArg < 0)
-                    return Double.NaN;
-                double sqrtVal = Math.sqrt(sqrtArg);
-                double expNegX = Math.exp(-x);
-                if (!Double.isFinite(sqrtVal) || !Double.isFinite(expNegX))
-                    return Double.NaN;
-                return sqrtVal * expNegX;
-
-            case "cos(3x) + ln(x+2)":
-                if (x + 2 <= 0)
-                    return Double.NaN;
-                double cos3x = Math.cos(3 * x);
-                double lnX2 = Math.log(x + 2);
-                if (!Double.isFinite(cos3x) || !Double.isFinite(lnX2))
-                    return Double.NaN;
-                return cos3x + lnX2;
-
-            case "1/(x²+sin(x)) + 5":
-                double denominator = x * x + Math.sin(x);
-                if (Math.abs(denominator) < 1e-15)
-                    return Double.NaN;
-                return 1.0 / denominator + 5;
-
-            default:
-                throw new IllegalArgumentException("Неизвестная функция");
+    // Для набора вне кучи глобальные многочлены не строятся: значение и кривая — кусочный многочлен
+    // по всем узлам хранилища, на графике вместо узлов их огибающая
+    private void calculateOffHeap() {
+        try {
+            double targetX = parseDouble(targetXInput.getText(), "X для интерполяции");
+            OffHeapPiecewiseInterpolant interpolant =
+                    interpolationService.preparePiecewise(offHeapPoints, PIECEWISE_DEGREE);
+            double value = interpolant.evaluate(targetX);
+            double minX = offHeapPoints.getX(0);
+            double maxX = offHeapPoints.getX(offHeapPoints.size() - 1);
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("Набор вне кучи: ").append(offHeapPoints.size()).append(" точек на [")
+              .append(String.format("%.6f", minX)).append("; ").append(String.format("%.6f", maxX)).append("]\n");
+            sb.append("Кусочный многочлен Ньютона степени ").append(interpolant.getDegree())
+              .append(" по ближайшим узлам\n");
+            sb.append("P(").append(String.format("%.6f", targetX)).append(") = ").append(formatResult(value))
+              .append("\n\n");
+            sb.append("Глобальные методы для такого набора не считаются; в таблице огибающая из ")
+              .append(dataPoints.size()).append(" точек\n");
+            resultsArea.setText(sb.toString());
+
+            double[] xs = piecewisePlotGrid(minX, maxX);
+            double[] ys = new double[xs.length];
+            interpolant.evaluate(xs, ys);
+            XYChart.Series<Number, Number> envelope = new XYChart.Series<>();
+            envelope.setName("Узлы (огибающая)");
+            for (InterpolationPoint point : dataPoints) {
+                envelope.getData().add(new XYChart.Data<>(point.getX(), point.getY()));
+            }
+            showPiecewiseChart(envelope, xs, ys, targetX, value);
+
+            updateStatus("Интерполяция по " + offHeapPoints.size() + " узлам вне кучи завершена");
+        } catch (NumberFormatException e) {
+            updateStatus("Ошибка: " + e.getMessage());
         }
     }
 
+    // Большой набор в куче: вместо глобальных многочленов кусочные модели по ближайшим узлам (O(log n) на точку)
+    // и Флоатер–Хорманн (O(n)); таблица разностей не строится
+    private void calculatePiecewise(PointSet pointSet, double targetX) {
+        InterpolationResult result = new InterpolationResult(dataPoints, targetX);
+        result.setPointSet(pointSet);
+        result.setPiecewiseDegree(PIECEWISE_DEGREE);
+        for (InterpolationMethod method : InterpolationMethod.values()) {
+            result.setPiecewiseValue(method, piecewiseModel(method).evaluate(targetX));
+        }
+        result.setFloaterHormannValue(FLOATER_HORMANN_DEGREE,
+            interpolationService.floaterHormannInterpolation(pointSet, FLOATER_HORMANN_DEGREE, targetX));
+        displayPiecewiseResults(result);
+
+        // На графике каждый k-й узел: сотни тысяч точек JavaFX не отрисует
+        int stride = Math.max(1, pointSet.size() / ENVELOPE_BUCKETS);
+        XYChart.Series<Number, Number> nodes = new XYChart.Series<>();
+        nodes.setName(stride > 1 ? "Узлы (каждый " + stride + "-й)" : "Узлы");
+        for (int i = 0; i < pointSet.size(); i += stride) {
+            nodes.getData().add(new XYChart.Data<>(pointSet.getX(i), pointSet.getY(i)));
+        }
+        double[] xs = piecewisePlotGrid(pointSet.getMinX(), pointSet.getMaxX());
+        double[] ys = new double[xs.length];
+        piecewiseModel(InterpolationMethod.NEWTON_DIVIDED).evaluate(xs, ys);
+        showPiecewiseChart(nodes, xs, ys, targetX, result.getPiecewiseValues().get(InterpolationMethod.NEWTON_DIVIDED));
+
+        updateStatus("Интерполяция по " + pointSet.size() + " узлам завершена: для более чем "
+                + PIECEWISE_THRESHOLD + " узлов считается только кусочная интерполяция");
+    }
+
+    private double[] piecewisePlotGrid(double minX, double maxX) {
+        double[] xs = new double[PIECEWISE_PLOT_SAMPLES];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = minX + (maxX - minX) * i / (xs.length - 1);
+        }
+        return xs;
+    }
+
+    private void showPiecewiseChart(XYChart.Series<Number, Number> nodes, double[] xs, double[] ys,
+                                    double targetX, double value) {
+        showFxChart();
+        chart.getData().clear();
+        chart.getData().add(nodes);
+        chart.getData().add(buildSampledSeries("Кусочный многочлен", xs, ys));
+        chart.getData().add(buildSampledSeries("P(x)", new double[]{targetX}, new double[]{value}));
+    }
+
+    // Возвращает на место графика JavaFX встроенный график JFreeChart, если он показан
+    private void showFxChart() {
+        if (swingChartNode != null && swingChartNode.getParent() instanceof javafx.scene.layout.Pane) {
+            javafx.scene.layout.Pane pane = (javafx.scene.layout.Pane) swingChartNode.getParent();
+            pane.getChildren().remove(swingChartNode);
+            if (!pane.getChildren().contains(chart)) {
+                pane.getChildren().add(chart);
+            }
+        }
+        swingChartNode = null;
+    }
+
+    private void startResultDetails(InterpolationResult result, DatasetAnalysis analysis,
+                                    ReferenceFunction profileFunction) {
+        ResultDetailsTask task = new ResultDetailsTask(result, analysis, profileFunction, PROFILE_SAMPLES);
+        task.setOnSucceeded(event -> {
+            if (detailsTask != task) return;
+            detailsTask = null;
+            displayResults(task.getValue());
+            updateStatus("Оценки погрешности рассчитаны");
+        });
+        task.setOnFailed(event -> {
+            if (detailsTask != task) return;
+            detailsTask = null;
+            updateStatus("Ошибка расчета погрешности: " + task.getException().getMessage());
+        });
+
+        detailsTask = task;
+        Thread thread = new Thread(task, "result-details");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Оценки прежнего расчёта больше не нужны: отчёт изменился или будет пересчитан
+    private void cancelResultDetails() {
+        if (detailsTask != null) {
+            detailsTask.cancel();
+            detailsTask = null;
+        }
+    }
+
+    // Скользящий контроль и профиль погрешности дописываются в результат; пока задача идёт,
+    // поток JavaFX результат не трогает. Модели профиля берутся из общего анализа набора.
+    private class ResultDetailsTask extends Task<InterpolationResult> {
+        private final InterpolationResult result;
+        private final DatasetAnalysis analysis;
+        private final ReferenceFunction profileFunction;
+        private final int samples;
+
+        ResultDetailsTask(InterpolationResult result, DatasetAnalysis analysis,
+                          ReferenceFunction profileFunction, int samples) {
+            this.result = result;
+            this.analysis = analysis;
+            this.profileFunction = profileFunction;
+            this.samples = samples;
+        }
+
+        @Override
+        protected InterpolationResult call() {
+            PointSet points = analysis.getPoints();
+            result.setCrossValidation(interpolationService.crossValidate(points));
+            if (profileFunction != null && !isCancelled()) {
+                result.setErrorProfile(errorProfileEngine.profile(analysis, EnumSet.allOf(InterpolationMethod.class),
+                        profileFunction::evaluate, points.getMinX(), points.getMaxX(), samples));
+            }
+            return result;
+        }
+    }
+
+    private double calculateFunction(String function, double x) {
+        return ReferenceFunction.fromDisplayName(function).evaluate(x);
+    }
+
     private void displayResults(InterpolationResult result) {
         StringBuilder sb = new StringBuilder();
 
@@ -565,7 +989,19 @@ public class InterpolationController {
             sb.append("📈 Количество узлов: ").append(dataPoints.size()).append("\n");
         }
 
-        sb.append("🎯 Аргумент интерполяции: ").append(String.format("%.6f", result.getTargetX())).append("\n\n");
+        sb.append("🎯 Аргумент интерполяции: ").append(String.format("%.6f", result.getTargetX())).append("\n");
+        PointSet pointSet = result.getPointSet();
+        if (pointSet != null && pointSet.size() >= 2) {
+            if (pointSet.isEquallySpaced()) {
+                sb.append("📐 Сетка: равномерная, h = ").append(String.format("%.6f", pointSet.getStep()));
+            } else {
+                sb.append("📐 Сетка: неравномерная");
+            }
+            sb.append(", макс. отклонение шага = ")
+              .append(String.format("%.3e", pointSet.getMaxSpacingDeviation())).append("\n");
+        }
+        sb.append("🔢 Точность Лагранжа и Ньютона: ").append(interpolationService.getPrecision()).append("\n");
+        sb.append("\n");
 
         sb.append("Метод: Многочлен Лагранжа\n");
         sb.append("  f(x) ≈ ").append(formatResult(result.getLagrangeValue())).append("\n");
@@ -584,6 +1020,7 @@ public class InterpolationController {
         sb.append("\n");
 
         sb.append("Метод: Ньютон (конечные)\n");
+        appendFallbackNote(sb, result, InterpolationMethod.NEWTON_FINITE);
         sb.append("  f(x) ≈ ").append(formatResult(result.getNewtonFiniteValue())).append("\n");
         sb.append("  Узлы интерполяции:\n");
         for (InterpolationPoint p : result.getPoints()) {
@@ -592,6 +1029,7 @@ public class InterpolationController {
         sb.append("\n");
 
         sb.append("Метод: Стирлинга\n");
+        appendFallbackNote(sb, result, InterpolationMethod.STIRLING);
         sb.append("  f(x) ≈ ").append(formatResult(result.getStirlingValue())).append("\n");
         sb.append("  Узлы интерполяции:\n");
         for (InterpolationPoint p : result.getPoints()) {
@@ -600,6 +1038,7 @@ public class InterpolationController {
         sb.append("\n");
 
         sb.append("Метод: Бесселя\n");
+        appendFallbackNote(sb, result, InterpolationMethod.BESSEL);
         sb.append("  f(x) ≈ ").append(formatResult(result.getBesselValue())).append("\n");
         sb.append("  Узлы интерполяции:\n");
         for (InterpolationPoint p : result.getPoints()) {
@@ -621,6 +1060,11 @@ public class InterpolationController {
         }
         double mean = validCount > 0 ? sum / validCount : Double.NaN;
 
+        if (result.hasChebyshevNodes()) {
+            sb.append("Метод: Ряд Чебышёва (узлы Чебышёва, схема Кленшоу)\n");
+            sb.append("  f(x) ≈ ").append(formatResult(result.getChebyshevValue())).append("\n\n");
+        }
+
         sb.append("\n");
         sb.append("╔══════════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║                            ТАБЛИЦА КОНЕЧНЫХ РАЗНОСТЕЙ                       ║\n");
@@ -639,6 +1083,70 @@ public class InterpolationController {
         sb.append(String.format("Стирлинг           | %s | %s\n", formatResult(vals[3]), formatResult(vals[3]-mean)));
         sb.append(String.format("Бессель            | %s | %s\n", formatResult(vals[4]), formatResult(vals[4]-mean)));
 
+        ErrorProfile errorProfile = result.getErrorProfile();
+        if (errorProfile != null) {
+            sb.append("\nПогрешность относительно функции на [")
+              .append(String.format("%.6f", errorProfile.getStart())).append("; ")
+              .append(String.format("%.6f", errorProfile.getEnd())).append("], ")
+              .append(errorProfile.getSamples()).append(" точек\n");
+            sb.append("Метод                            |  макс. ошибка  |  ср. ошибка  |  ср.-кв.  | худшая x\n");
+            for (InterpolationMethod method : errorProfile.getMethods()) {
+                ErrorStatistics statistics = errorProfile.getStatistics(method);
+                sb.append(String.format("%-32s | %14.6e | %12.4e | %9.3e | %s\n", method.getDisplayName(),
+                    statistics.getMaxError(), statistics.getMeanError(), statistics.getRmsError(),
+                    formatResult(statistics.getWorstX())));
+                if (statistics.getFailures() > 0) {
+                    sb.append("  некорректных значений: ").append(statistics.getFailures()).append("\n");
+                }
+            }
+        }
+
+        CrossValidationResult crossValidation = result.getCrossValidation();
+        if (crossValidation != null) {
+            sb.append("\nОценка погрешности скользящим контролем (узел исключается, многочлен строится по остальным)\n");
+            if (crossValidation.isValid()) {
+                sb.append("  Максимальная ошибка: ").append(String.format("%.3e", crossValidation.getMaxError()))
+                  .append(" в узле x = ").append(String.format("%.6f", crossValidation.getWorstX())).append("\n");
+                sb.append("  Среднеквадратичная ошибка: ")
+                  .append(String.format("%.3e", crossValidation.getRmsError())).append("\n");
+            } else {
+                sb.append("  Оценка недоступна: узлы содержат некорректные значения или веса вышли за диапазон double\n");
+            }
+        }
+
+        resultsArea.setText(sb.toString());
+    }
+
+    private void displayPiecewiseResults(InterpolationResult result) {
+        PointSet pointSet = result.getPointSet();
+        StringBuilder sb = new StringBuilder();
+        sb.append("╔══════════════════════════════════════════════════════════════════════════════╗\n");
+        sb.append("║                       РЕЗУЛЬТАТЫ КУСОЧНОЙ ИНТЕРПОЛЯЦИИ                      ║\n");
+        sb.append("╚══════════════════════════════════════════════════════════════════════════════╝\n\n");
+        sb.append("📏 Интервал данных: [").append(String.format("%.6f", pointSet.getMinX()))
+          .append("; ").append(String.format("%.6f", pointSet.getMaxX())).append("]\n");
+        sb.append("📈 Количество узлов: ").append(pointSet.size()).append("\n");
+        sb.append("🎯 Аргумент интерполяции: ").append(String.format("%.6f", result.getTargetX())).append("\n");
+        if (pointSet.isEquallySpaced()) {
+            sb.append("📐 Сетка: равномерная, h = ").append(String.format("%.6f", pointSet.getStep())).append("\n");
+        } else {
+            sb.append("📐 Сетка: неравномерная\n");
+        }
+        sb.append("\nГлобальные многочлены и таблица конечных разностей для более чем ")
+          .append(PIECEWISE_THRESHOLD).append(" узлов не строятся\n\n");
+
+        sb.append("Кусочная интерполяция (локальные многочлены степени ")
+          .append(result.getPiecewiseDegree()).append(" по ближайшим узлам)\n");
+        for (Map.Entry<InterpolationMethod, Double> entry : result.getPiecewiseValues().entrySet()) {
+            sb.append(String.format("  %-32s f(x) ≈ %s\n",
+                entry.getKey().getDisplayName(), formatResult(entry.getValue())));
+        }
+        sb.append("\n");
+
+        sb.append("Метод: Рациональная интерполяция Флоатера–Хорманна (d = ")
+          .append(result.getFloaterHormannDegree()).append(")\n");
+        sb.append("  f(x) ≈ ").append(formatResult(result.getFloaterHormannValue())).append("\n");
+
         resultsArea.setText(sb.toString());
     }
 
@@ -652,8 +1160,8 @@ public class InterpolationController {
         }
     }
 
-    private void displayFiniteDifferencesTable(StringBuilder sb, double[][] table) {
-        int n = table.length;
+    private void displayFiniteDifferencesTable(StringBuilder sb, FiniteDifferenceTable table) {
+        int n = table.size();
 
         sb.append("┌─────┬─────────────┬─────────────");
         for (int j = 1; j < n; j++) {
@@ -679,7 +1187,7 @@ public class InterpolationController {
             sb.append(String.format(" %11.6f │", dataPoints.get(i).getY()));
 
             for (int j = 1; j < n - i; j++) {
-                double value = table[i][j];
+                double value = table.get(i, j);
                 if (Double.isNaN(value)) {
                     sb.append("      NaN     │");
                 } else if (Double.isInfinite(value)) {
@@ -702,6 +1210,13 @@ public class InterpolationController {
         sb.append("┘\n");
     }
 
+    private void appendFallbackNote(StringBuilder sb, InterpolationResult result, InterpolationMethod method) {
+        InterpolationMethod used = result.getUsedAlgorithm(method);
+        if (used != method) {
+            sb.append("  ⚠️  Фактически использован: ").append(used.getDisplayName()).append("\n");
+        }
+    }
+
     private void plotGraphs(InterpolationResult result) {
         System.out.println("=== НАЧАЛО plotGraphs ===");
 
@@ -727,9 +1242,10 @@ public class InterpolationController {
 
             swingChartNode = SwingChartNode.createChartNode(
                 "Интерполяция функций",
-                dataPoints,
+                currentPointSet(),
                 selectedFunction,
-                targetX
+                targetX,
+                interpolationService
             );
 
             if (chart.getParent() != null) {
@@ -765,7 +1281,8 @@ public class InterpolationController {
                 "Интерполяция функций",
                 dataPoints,
                 selectedFunction,
-                targetX
+                targetX,
+                interpolationService
             );
 
             javax.swing.JFrame chartFrame = new javax.swing.JFrame("График интерполяции");
@@ -856,119 +1373,32 @@ public class InterpolationController {
 
         int plotPoints = Math.max(500, (int) Math.min(3000, Math.abs(extendedMaxX - extendedMinX) * 0.2));
 
-        XYChart.Series<Number, Number> lagrangeSeries = new XYChart.Series<>();
-        lagrangeSeries.setName("Лагранж");
-
         double step = (extendedMaxX - extendedMinX) / plotPoints;
-        double previousY = Double.NaN;
-        double maxJump = 10.0;
-
+        double[] xs = new double[plotPoints + 1];
         for (int i = 0; i <= plotPoints; i++) {
-            double x = extendedMinX + i * step;
-            try {
-                double y = interpolationService.lagrangeInterpolation(dataPoints, x);
-
-                if (Double.isFinite(y)) {
-                    lagrangeSeries.getData().add(new XYChart.Data<>(x, y));
-                }
-            } catch (Exception e) {
-                previousY = Double.NaN;
-            }
+            xs[i] = extendedMinX + i * step;
         }
+        double[] ys = new double[xs.length];
 
+        interpolationService.lagrangeInterpolation(dataPoints, xs, ys);
+        XYChart.Series<Number, Number> lagrangeSeries = buildSampledSeries("Лагранж", xs, ys);
         chart.getData().add(lagrangeSeries);
         System.out.println("Лагранж добавлен: " + lagrangeSeries.getName() + ", точек: " + lagrangeSeries.getData().size());
 
-        XYChart.Series<Number, Number> newtonDividedSeries = new XYChart.Series<>();
-        newtonDividedSeries.setName("Ньютон (разделенные)");
-
-        step = (extendedMaxX - extendedMinX) / plotPoints;
-        previousY = Double.NaN;
-        maxJump = 100.0;
-
-        for (int i = 0; i <= plotPoints; i++) {
-            double x = extendedMinX + i * step;
-            try {
-                double y = interpolationService.newtonDividedDifferences(dataPoints, x);
-
-                if (Double.isFinite(y)) {
-                    newtonDividedSeries.getData().add(new XYChart.Data<>(x, y));
-                }
-            } catch (Exception e) {
-                previousY = Double.NaN;
-            }
-        }
-
-        chart.getData().add(newtonDividedSeries);
-
-        XYChart.Series<Number, Number> newtonFiniteSeries = new XYChart.Series<>();
-        newtonFiniteSeries.setName("Ньютон (конечные)");
+        interpolationService.newtonDividedDifferences(dataPoints, xs, ys);
+        chart.getData().add(buildSampledSeries("Ньютон (разделенные)", xs, ys));
 
-        step = (extendedMaxX - extendedMinX) / plotPoints;
-        previousY = Double.NaN;
-        maxJump = 100.0;
-
-        for (int i = 0; i <= plotPoints; i++) {
-            double x = extendedMinX + i * step;
-            try {
-                double y = interpolationService.newtonFiniteDifferences(dataPoints, x);
-
-                if (Double.isFinite(y)) {
-                    newtonFiniteSeries.getData().add(new XYChart.Data<>(x, y));
-                }
-            } catch (Exception e) {
-                previousY = Double.NaN;
-            }
-        }
-
-        chart.getData().add(newtonFiniteSeries);
+        interpolationService.newtonFiniteDifferences(dataPoints, xs, ys);
+        chart.getData().add(buildSampledSeries("Ньютон (конечные)", xs, ys));
 
         if (dataPoints.size() >= 3) {
-            XYChart.Series<Number, Number> stirlingSeries = new XYChart.Series<>();
-            stirlingSeries.setName("Стирлинг");
-
-            step = (extendedMaxX - extendedMinX) / plotPoints;
-            previousY = Double.NaN;
-            maxJump = 10.0;
-
-            for (int i = 0; i <= plotPoints; i++) {
-                double x = extendedMinX + i * step;
-                try {
-                    double y = interpolationService.stirlingInterpolation(dataPoints, x);
-
-                    if (Double.isFinite(y)) {
-                        stirlingSeries.getData().add(new XYChart.Data<>(x, y));
-                    }
-                } catch (Exception e) {
-                    previousY = Double.NaN;
-                }
-            }
-
-            chart.getData().add(stirlingSeries);
+            interpolationService.stirlingInterpolation(dataPoints, xs, ys);
+            chart.getData().add(buildSampledSeries("Стирлинг", xs, ys));
         }
 
         if (dataPoints.size() >= 3) {
-            XYChart.Series<Number, Number> besselSeries = new XYChart.Series<>();
-            besselSeries.setName("Бессель");
-
-            step = (extendedMaxX - extendedMinX) / plotPoints;
-            previousY = Double.NaN;
-            maxJump = 10.0;
-
-            for (int i = 0; i <= plotPoints; i++) {
-                double x = extendedMinX + i * step;
-                try {
-                    double y = interpolationService.besselInterpolation(dataPoints, x);
-
-                    if (Double.isFinite(y)) {
-                        besselSeries.getData().add(new XYChart.Data<>(x, y));
-                    }
-                } catch (Exception e) {
-                    previousY = Double.NaN;
-                }
-            }
-
-            chart.getData().add(besselSeries);
+            interpolationService.besselInterpolation(dataPoints, xs, ys);
+            chart.getData().add(buildSampledSeries("Бессель", xs, ys));
         }
 
         System.out.println("=== СОСТОЯНИЕ ГРАФИКА ===");
@@ -992,17 +1422,44 @@ public class InterpolationController {
 
     }
 
+    private XYChart.Series<Number, Number> buildSampledSeries(String name, double[] xs, double[] ys) {
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setName(name);
+        for (int i = 0; i < xs.length; i++) {
+            if (Double.isFinite(ys[i])) {
+                series.getData().add(new XYChart.Data<>(xs[i], ys[i]));
+            }
+        }
+        return series;
+    }
+
     private void clearInputs() {
         xInput.clear();
         yInput.clear();
     }
 
     private void clearResults() {
+        cancelResultDetails();
         resultsArea.clear();
         chart.getData().clear();
     }
 
+    private String livePreview() {
+        NewtonInterpolant newton = currentNewton();
+        if (!newton.isValid()) {
+            return "";
+        }
+        try {
+            double targetX = parseDouble(targetXInput.getText(), "X для интерполяции");
+            return " Ньютон: P(" + String.format("%.4f", targetX) + ") ≈ "
+                 + formatResult(newton.evaluate(targetX)) + ".";
+        } catch (NumberFormatException e) {
+            return "";
+        }
+    }
+
     private void showOutdatedResults() {
+        cancelResultDetails();
         StringBuilder sb = new StringBuilder();
         sb.append("╔══════════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║                          ⚠️  РЕЗУЛЬТАТЫ УСТАРЕЛИ ⚠️                        ║\n");
@@ -1108,6 +1565,7 @@ public class InterpolationController {
     }
 
     private void clearAll() {
+        cancelResultDetails();
         dataPoints.clear();
         chart.getData().clear();
         resultsArea.clear();
@@ -0,0 +1,47 @@
+package ru.ifmo.cs.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+public class BatchInterpolationResult {
+    private final PointSet points;
+    private final double[] xs;
+    private final Map<InterpolationMethod, double[]> values = new EnumMap<>(InterpolationMethod.class);
+
+    public BatchInterpolationResult(PointSet points, double[] xs) {
+        this.points = points;
+        this.xs = xs;
+    }
+
+    public PointSet getPoints() {
+        return points;
+    }
+
+    public double[] getXs() {
+        return xs;
+    }
+
+    public Set<InterpolationMethod> getMethods() {
+        return values.keySet();
+    }
+
+    public double[] getValues(InterpolationMethod method) {
+        double[] methodValues = values.get(method);
+        if (methodValues == null) {
+            throw new IllegalArgumentException("Метод не вычислялся: " + method.getDisplayName());
+        }
+        return methodValues;
+    }
+
+    public double getValue(InterpolationMethod method, int index) {
+        return getValues(method)[index];
+    }
+
+    public void setValues(InterpolationMethod method, double[] methodValues) {
+        if (methodValues.length != xs.length) {
+            throw new IllegalArgumentException("Число значений не совпадает с числом аргументов");
+        }
+        values.put(method, methodValues);
+    }
+}
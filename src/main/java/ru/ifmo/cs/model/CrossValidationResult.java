@@ -0,0 +1,71 @@
+package ru.ifmo.cs.model;
+
+// Остатки скользящего контроля: residuals[k] = y(k) - P(x(k)), где P построен по всем узлам, кроме k-го
+public class CrossValidationResult {
+    private final PointSet points;
+    private final double[] residuals;
+    private final int worstIndex;
+    private final double maxError;
+    private final double rmsError;
+
+    public CrossValidationResult(PointSet points, double[] residuals) {
+        if (points.size() != residuals.length) {
+            throw new IllegalArgumentException("Число остатков должно совпадать с числом узлов");
+        }
+        this.points = points;
+        this.residuals = residuals;
+
+        int worst = -1;
+        double max = residuals.length > 0 ? 0.0 : Double.NaN;
+        double sumOfSquares = 0.0;
+        for (int k = 0; k < residuals.length; k++) {
+            double error = Math.abs(residuals[k]);
+            if (Double.isNaN(error)) {
+                max = Double.NaN;
+                worst = -1;
+                break;
+            }
+            if (worst < 0 || error > max) {
+                max = error;
+                worst = k;
+            }
+            sumOfSquares += error * error;
+        }
+        this.worstIndex = worst;
+        this.maxError = max;
+        this.rmsError = worst >= 0 ? Math.sqrt(sumOfSquares / residuals.length) : Double.NaN;
+    }
+
+    public PointSet getPoints() {
+        return points;
+    }
+
+    public double[] getResiduals() {
+        return residuals.clone();
+    }
+
+    public double getResidual(int index) {
+        return residuals[index];
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    public double getRmsError() {
+        return rmsError;
+    }
+
+    // -1, если остатки не определены
+    public int getWorstIndex() {
+        return worstIndex;
+    }
+
+    public double getWorstX() {
+        return worstIndex >= 0 ? points.getX(worstIndex) : Double.NaN;
+    }
+
+    public boolean isValid() {
+        return worstIndex >= 0;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.ifmo.cs.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+public class ErrorProfile {
+    private final double start;
+    private final double end;
+    private final int samples;
+    private final Map<InterpolationMethod, ErrorStatistics> statistics = new EnumMap<>(InterpolationMethod.class);
+
+    public ErrorProfile(double start, double end, int samples) {
+        this.start = start;
+        this.end = end;
+        this.samples = samples;
+    }
+
+    public double getStart() {
+        return start;
+    }
+
+    public double getEnd() {
+        return end;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public Set<InterpolationMethod> getMethods() {
+        return statistics.keySet();
+    }
+
+    public ErrorStatistics getStatistics(InterpolationMethod method) {
+        ErrorStatistics methodStatistics = statistics.get(method);
+        if (methodStatistics == null) {
+            throw new IllegalArgumentException("Метод не вычислялся: " + method.getDisplayName());
+        }
+        return methodStatistics;
+    }
+
+    public void setStatistics(InterpolationMethod method, ErrorStatistics methodStatistics) {
+        statistics.put(method, methodStatistics);
+    }
+}
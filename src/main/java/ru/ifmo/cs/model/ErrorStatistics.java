@@ -0,0 +1,78 @@
+package ru.ifmo.cs.model;
+
+// Погрешность одного метода на сетке: учитываются точки, где и метод, и функция дали конечные значения
+public class ErrorStatistics {
+    private final double maxError;
+    private final double meanError;
+    private final double rmsError;
+    private final double worstX;
+    private final int samples;
+    private final int failures;
+
+    public ErrorStatistics(double maxError, double meanError, double rmsError, double worstX,
+                           int samples, int failures) {
+        this.maxError = maxError;
+        this.meanError = meanError;
+        this.rmsError = rmsError;
+        this.worstX = worstX;
+        this.samples = samples;
+        this.failures = failures;
+    }
+
+    public static ErrorStatistics of(double[] xs, double[] expected, double[] actual) {
+        if (xs.length != expected.length || xs.length != actual.length) {
+            throw new IllegalArgumentException("Массивы аргументов и значений должны иметь одинаковую длину");
+        }
+
+        double max = Double.NaN;
+        double worst = Double.NaN;
+        double sum = 0.0;
+        double sumOfSquares = 0.0;
+        int samples = 0;
+        int failures = 0;
+        for (int k = 0; k < xs.length; k++) {
+            if (!Double.isFinite(expected[k])) {
+                continue;
+            }
+            if (!Double.isFinite(actual[k])) {
+                failures++;
+                continue;
+            }
+            double error = Math.abs(actual[k] - expected[k]);
+            if (samples == 0 || error > max) {
+                max = error;
+                worst = xs[k];
+            }
+            sum += error;
+            sumOfSquares += error * error;
+            samples++;
+        }
+        return new ErrorStatistics(max, samples > 0 ? sum / samples : Double.NaN,
+                samples > 0 ? Math.sqrt(sumOfSquares / samples) : Double.NaN, worst, samples, failures);
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    public double getMeanError() {
+        return meanError;
+    }
+
+    public double getRmsError() {
+        return rmsError;
+    }
+
+    public double getWorstX() {
+        return worstX;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    // Точки, где функция определена, а метод дал NaN или бесконечность
+    public int getFailures() {
+        return failures;
+    }
+}
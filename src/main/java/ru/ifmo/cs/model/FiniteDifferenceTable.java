@@ -0,0 +1,43 @@
+package ru.ifmo.cs.model;
+
+public class FiniteDifferenceTable {
+    private final int size;
+    // Столбцы Δ⁰y, Δ¹y, ... подряд в одном массиве: столбец k содержит n-k значений
+    private final double[] values;
+
+    public FiniteDifferenceTable(double[] yValues) {
+        int n = yValues.length;
+        long length = (long) n * (n + 1) / 2;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Слишком много узлов для таблицы конечных разностей: " + n);
+        }
+
+        this.size = n;
+        this.values = new double[(int) length];
+        System.arraycopy(yValues, 0, values, 0, n);
+
+        int previous = 0;
+        for (int k = 1; k < n; k++) {
+            int current = offset(k);
+            for (int i = 0; i < n - k; i++) {
+                values[current + i] = values[previous + i + 1] - values[previous + i];
+            }
+            previous = current;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double get(int i, int order) {
+        if (order < 0 || order >= size || i < 0 || i >= size - order) {
+            throw new IndexOutOfBoundsException("Нет разности порядка " + order + " для узла " + i);
+        }
+        return values[offset(order) + i];
+    }
+
+    private int offset(int order) {
+        return (int) ((long) order * size - (long) order * (order - 1) / 2);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.ifmo.cs.model;
+
+public enum InterpolationMethod {
+    LAGRANGE("Многочлен Лагранжа"),
+    NEWTON_DIVIDED("Ньютон (разделенные разности)"),
+    NEWTON_FINITE("Ньютон (конечные разности)"),
+    STIRLING("Стирлинг"),
+    BESSEL("Бессель");
+
+    private final String displayName;
+
+    InterpolationMethod(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
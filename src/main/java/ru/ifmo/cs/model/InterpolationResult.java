@@ -1,6 +1,8 @@
 package ru.ifmo.cs.model;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public class InterpolationResult {
     private double lagrangeValue;
@@ -8,8 +10,18 @@ public class InterpolationResult {
     private double newtonFiniteValue;
     private double stirlingValue;
     private double besselValue;
-    private double[][] finiteDifferencesTable;
+    private FiniteDifferenceTable finiteDifferencesTable;
     private List<InterpolationPoint> points;
+    private PointSet pointSet;
+    private final Map<InterpolationMethod, InterpolationMethod> usedAlgorithms = new EnumMap<>(InterpolationMethod.class);
+    private final Map<InterpolationMethod, Double> piecewiseValues = new EnumMap<>(InterpolationMethod.class);
+    private int piecewiseDegree;
+    private double chebyshevValue = Double.NaN;
+    private boolean chebyshevNodes;
+    private double floaterHormannValue = Double.NaN;
+    private int floaterHormannDegree = -1;
+    private CrossValidationResult crossValidation;
+    private ErrorProfile errorProfile;
     private double targetX;
 
     public InterpolationResult(List<InterpolationPoint> points, double targetX) {
@@ -41,11 +53,11 @@ public class InterpolationResult {
         this.newtonFiniteValue = newtonFiniteValue;
     }
 
-    public double[][] getFiniteDifferencesTable() {
+    public FiniteDifferenceTable getFiniteDifferencesTable() {
         return finiteDifferencesTable;
     }
 
-    public void setFiniteDifferencesTable(double[][] finiteDifferencesTable) {
+    public void setFiniteDifferencesTable(FiniteDifferenceTable finiteDifferencesTable) {
         this.finiteDifferencesTable = finiteDifferencesTable;
     }
 
@@ -53,6 +65,84 @@ public class InterpolationResult {
         return points;
     }
 
+    public PointSet getPointSet() {
+        return pointSet;
+    }
+
+    public void setPointSet(PointSet pointSet) {
+        this.pointSet = pointSet;
+    }
+
+    public InterpolationMethod getUsedAlgorithm(InterpolationMethod method) {
+        return usedAlgorithms.getOrDefault(method, method);
+    }
+
+    public void setUsedAlgorithm(InterpolationMethod method, InterpolationMethod algorithm) {
+        usedAlgorithms.put(method, algorithm);
+    }
+
+    public Map<InterpolationMethod, Double> getPiecewiseValues() {
+        return piecewiseValues;
+    }
+
+    public void setPiecewiseValue(InterpolationMethod method, double value) {
+        piecewiseValues.put(method, value);
+    }
+
+    public int getPiecewiseDegree() {
+        return piecewiseDegree;
+    }
+
+    public void setPiecewiseDegree(int piecewiseDegree) {
+        this.piecewiseDegree = piecewiseDegree;
+    }
+
+    public double getChebyshevValue() {
+        return chebyshevValue;
+    }
+
+    public void setChebyshevValue(double chebyshevValue) {
+        this.chebyshevValue = chebyshevValue;
+        this.chebyshevNodes = true;
+    }
+
+    public boolean hasChebyshevNodes() {
+        return chebyshevNodes;
+    }
+
+    public double getFloaterHormannValue() {
+        return floaterHormannValue;
+    }
+
+    public int getFloaterHormannDegree() {
+        return floaterHormannDegree;
+    }
+
+    public void setFloaterHormannValue(int degree, double value) {
+        this.floaterHormannDegree = degree;
+        this.floaterHormannValue = value;
+    }
+
+    public boolean hasFloaterHormannValue() {
+        return floaterHormannDegree >= 0;
+    }
+
+    public CrossValidationResult getCrossValidation() {
+        return crossValidation;
+    }
+
+    public void setCrossValidation(CrossValidationResult crossValidation) {
+        this.crossValidation = crossValidation;
+    }
+
+    public ErrorProfile getErrorProfile() {
+        return errorProfile;
+    }
+
+    public void setErrorProfile(ErrorProfile errorProfile) {
+        this.errorProfile = errorProfile;
+    }
+
     public double getTargetX() {
         return targetX;
     }
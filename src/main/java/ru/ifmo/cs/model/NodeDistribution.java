@@ -0,0 +1,72 @@
+package ru.ifmo.cs.model;
+
+public enum NodeDistribution {
+    UNIFORM("Равномерные"),
+    CHEBYSHEV("Чебышёвские");
+
+    private final String displayName;
+
+    NodeDistribution(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public double[] nodes(double start, double end, int count) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Минимум 2 узла требуется");
+        }
+
+        double[] nodes = new double[count];
+        if (this == UNIFORM) {
+            double step = (end - start) / (count - 1);
+            for (int i = 0; i < count; i++) {
+                nodes[i] = start + i * step;
+            }
+            return nodes;
+        }
+
+        // Нули T_n на [start, end] по возрастанию: x(i) = m - r·cos((2i+1)π / 2n)
+        double middle = (start + end) / 2.0;
+        double radius = (end - start) / 2.0;
+        for (int i = 0; i < count; i++) {
+            nodes[i] = middle - radius * Math.cos((2 * i + 1) * Math.PI / (2.0 * count));
+        }
+        return nodes;
+    }
+
+    // Вложенная последовательность: первые count узлов не меняются при увеличении count, поэтому узлы можно добавлять по одному.
+    // Концы отрезка, затем двоично-обратный порядок 1/2, 1/4, 3/4, 1/8, ...; при count = 2^k + 1 получается
+    // равномерная сетка или экстремумы T_(2^k) (узлы Чебышёва–Лобатто).
+    public double[] nestedNodes(double start, double end, int count) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Минимум 2 узла требуется");
+        }
+
+        double[] nodes = new double[count];
+        for (int i = 0; i < count; i++) {
+            double fraction = i < 2 ? i : binaryReversed(i - 1);
+            if (this == UNIFORM) {
+                nodes[i] = start + (end - start) * fraction;
+            } else {
+                nodes[i] = (start + end) / 2.0 - (end - start) / 2.0 * Math.cos(Math.PI * fraction);
+            }
+        }
+        return nodes;
+    }
+
+    // Для i = 2^m + r, 0 <= r < 2^m: (2·rev(r) + 1) / 2^(m+1), где rev переворачивает m двоичных разрядов
+    private static double binaryReversed(int i) {
+        int level = 31 - Integer.numberOfLeadingZeros(i);
+        int rest = i - (1 << level);
+        int reversed = level == 0 ? 0 : Integer.reverse(rest) >>> (32 - level);
+        return (2.0 * reversed + 1.0) / (1L << (level + 1));
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
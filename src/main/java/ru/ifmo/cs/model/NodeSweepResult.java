@@ -0,0 +1,70 @@
+package ru.ifmo.cs.model;
+
+// Зависимость погрешности интерполяционного многочлена от числа узлов: nodeCounts[i] узлов дают maxErrors[i] и rmsErrors[i]
+public class NodeSweepResult {
+    private final NodeDistribution distribution;
+    private final int[] nodeCounts;
+    private final double[] maxErrors;
+    private final double[] rmsErrors;
+    private final int samples;
+
+    public NodeSweepResult(NodeDistribution distribution, int[] nodeCounts, double[] maxErrors,
+                           double[] rmsErrors, int samples) {
+        if (nodeCounts.length != maxErrors.length || nodeCounts.length != rmsErrors.length) {
+            throw new IllegalArgumentException("Массивы результатов должны иметь одинаковую длину");
+        }
+        this.distribution = distribution;
+        this.nodeCounts = nodeCounts;
+        this.maxErrors = maxErrors;
+        this.rmsErrors = rmsErrors;
+        this.samples = samples;
+    }
+
+    public NodeDistribution getDistribution() {
+        return distribution;
+    }
+
+    public int size() {
+        return nodeCounts.length;
+    }
+
+    public int getNodeCount(int index) {
+        return nodeCounts[index];
+    }
+
+    public double getMaxError(int index) {
+        return maxErrors[index];
+    }
+
+    public double getRmsError(int index) {
+        return rmsErrors[index];
+    }
+
+    public int[] getNodeCounts() {
+        return nodeCounts.clone();
+    }
+
+    public double[] getMaxErrors() {
+        return maxErrors.clone();
+    }
+
+    public double[] getRmsErrors() {
+        return rmsErrors.clone();
+    }
+
+    // Число контрольных точек, в которых функция определена
+    public int getSamples() {
+        return samples;
+    }
+
+    // Число узлов с наименьшей максимальной ошибкой, -1 если ни одна ошибка не определена
+    public int getBestNodeCount() {
+        int best = -1;
+        for (int i = 0; i < nodeCounts.length; i++) {
+            if (!Double.isNaN(maxErrors[i]) && (best < 0 || maxErrors[i] < maxErrors[best])) {
+                best = i;
+            }
+        }
+        return best >= 0 ? nodeCounts[best] : -1;
+    }
+}
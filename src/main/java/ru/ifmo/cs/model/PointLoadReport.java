@@ -0,0 +1,69 @@
+package ru.ifmo.cs.model;
+
+// Итог загрузки файла точек: отсортированный набор и счётчики разбора.
+// Некорректные точки — это и неразобранные строки, и точки с NaN или бесконечностью;
+// последние попадают в набор, неразобранные строки — нет.
+public class PointLoadReport {
+    private final PointSet points;
+    private final long bytes;
+    private final int chunks;
+    private final int lines;
+    private final int loadedPoints;
+    private final int validPoints;
+    private final int invalidPoints;
+    private final int[] errorLines;
+
+    public PointLoadReport(PointSet points, long bytes, int chunks, int lines, int loadedPoints,
+                           int validPoints, int invalidPoints, int[] errorLines) {
+        if (points.size() != loadedPoints) {
+            throw new IllegalArgumentException("Число точек набора должно совпадать с числом загруженных");
+        }
+        this.points = points;
+        this.bytes = bytes;
+        this.chunks = chunks;
+        this.lines = lines;
+        this.loadedPoints = loadedPoints;
+        this.validPoints = validPoints;
+        this.invalidPoints = invalidPoints;
+        this.errorLines = errorLines;
+    }
+
+    public PointSet getPoints() {
+        return points;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    // Число кусков файла, разобранных независимо
+    public int getChunks() {
+        return chunks;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public int getLoadedPoints() {
+        return loadedPoints;
+    }
+
+    public int getValidPoints() {
+        return validPoints;
+    }
+
+    public int getInvalidPoints() {
+        return invalidPoints;
+    }
+
+    // Строки, которые не удалось разобрать
+    public int getMalformedLines() {
+        return invalidPoints - (loadedPoints - validPoints);
+    }
+
+    // Номера (с 1) первых неразобранных строк файла
+    public int[] getErrorLines() {
+        return errorLines.clone();
+    }
+}
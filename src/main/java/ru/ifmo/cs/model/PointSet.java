@@ -0,0 +1,162 @@
+package ru.ifmo.cs.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class PointSet {
+    private static final double SPACING_TOLERANCE = 1e-10;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final boolean equallySpaced;
+    private final double step;
+    private final double maxSpacingDeviation;
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double maxY;
+
+    private PointSet(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+
+        int n = xs.length;
+        this.minX = n > 0 ? xs[0] : Double.NaN;
+        this.maxX = n > 0 ? xs[n - 1] : Double.NaN;
+
+        double lowY = Double.POSITIVE_INFINITY;
+        double highY = Double.NEGATIVE_INFINITY;
+        for (double y : ys) {
+            lowY = Math.min(lowY, y);
+            highY = Math.max(highY, y);
+        }
+        this.minY = n > 0 ? lowY : Double.NaN;
+        this.maxY = n > 0 ? highY : Double.NaN;
+
+        double h = n >= 2 ? xs[1] - xs[0] : Double.NaN;
+        double deviation = n >= 2 ? 0.0 : Double.NaN;
+        for (int i = 2; i < n; i++) {
+            deviation = Math.max(deviation, Math.abs((xs[i] - xs[i - 1]) - h));
+        }
+        // NaN в узлах даёт NaN-отклонение и, следовательно, неравномерную сетку
+        this.equallySpaced = n >= 2 && deviation <= SPACING_TOLERANCE;
+        this.step = h;
+        this.maxSpacingDeviation = deviation;
+    }
+
+    public static PointSet of(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Массивы x и y должны иметь одинаковую длину");
+        }
+
+        int n = xs.length;
+        boolean sorted = true;
+        for (int i = 1; i < n && sorted; i++) {
+            sorted = Double.compare(xs[i - 1], xs[i]) <= 0;
+        }
+        if (sorted) {
+            return new PointSet(xs.clone(), ys.clone());
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(xs[a], xs[b]));
+
+        double[] sortedXs = new double[n];
+        double[] sortedYs = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedXs[i] = xs[order[i]];
+            sortedYs[i] = ys[order[i]];
+        }
+        return new PointSet(sortedXs, sortedYs);
+    }
+
+    // Без копирования: массивы переходят во владение набора, вызывающий код больше их не меняет.
+    // Для загрузчиков, которые уже отсортировали столбцы; неотсортированные x отклоняются.
+    public static PointSet wrapSorted(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Массивы x и y должны иметь одинаковую длину");
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (Double.compare(xs[i - 1], xs[i]) > 0) {
+                throw new IllegalArgumentException("Узлы должны быть отсортированы по x");
+            }
+        }
+        return new PointSet(xs, ys);
+    }
+
+    public static PointSet of(List<? extends InterpolationPoint> points) {
+        int n = points.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            InterpolationPoint point = points.get(i);
+            xs[i] = point.getX();
+            ys[i] = point.getY();
+        }
+        return of(xs, ys);
+    }
+
+    public List<InterpolationPoint> toPoints() {
+        List<InterpolationPoint> points = new ArrayList<>(xs.length);
+        for (int i = 0; i < xs.length; i++) {
+            points.add(new InterpolationPoint(xs[i], ys[i]));
+        }
+        return points;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    public boolean isEmpty() {
+        return xs.length == 0;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    public double[] getXs() {
+        return xs.clone();
+    }
+
+    public double[] getYs() {
+        return ys.clone();
+    }
+
+    public boolean isEquallySpaced() {
+        return equallySpaced;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    public double getMaxSpacingDeviation() {
+        return maxSpacingDeviation;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.ifmo.cs.model;
+
+public enum Precision {
+    STANDARD("Обычная (double)"),
+    EXTENDED("Повышенная (double-double)");
+
+    private final String displayName;
+
+    Precision(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.ifmo.cs.model;
+
+// Функции для генерации узлов и сравнения с интерполяцией; вне области определения значение NaN
+public enum ReferenceFunction {
+    SIN_RATIO("sin(x² + 3)/(x - 1)") {
+        @Override
+        public double evaluate(double x) {
+            if (Math.abs(x - 1) < 1e-15)
+                return Double.NaN;
+            double numerator = Math.sin(x * x + 3);
+            if (!Double.isFinite(numerator))
+                return Double.NaN;
+            return numerator / (x - 1);
+        }
+    },
+    TAN_RATIO("tan(x+1)/(x²-1)") {
+        @Override
+        public double evaluate(double x) {
+            if (Math.abs(x - 1) < 1e-15 || Math.abs(x + 1) < 1e-15)
+                return Double.NaN;
+            double tanX1 = Math.tan(x + 1);
+            if (!Double.isFinite(tanX1))
+                return Double.NaN;
+            return tanX1 / (x * x - 1);
+        }
+    },
+    DAMPED_ROOT("√(x⁴+3x) * e^(-x)") {
+        @Override
+        public double evaluate(double x) {
+            double x4 = x * x * x * x;
+            double sqrtArg = x4 + 3 * x;
+            if (sqrtArg < 0)
+                return Double.NaN;
+            double sqrtVal = Math.sqrt(sqrtArg);
+            double expNegX = Math.exp(-x);
+            if (!Double.isFinite(sqrtVal) || !Double.isFinite(expNegX))
+                return Double.NaN;
+            return sqrtVal * expNegX;
+        }
+    },
+    COS_LOG("cos(3x) + ln(x+2)") {
+        @Override
+        public double evaluate(double x) {
+            if (x + 2 <= 0)
+                return Double.NaN;
+            double cos3x = Math.cos(3 * x);
+            double lnX2 = Math.log(x + 2);
+            if (!Double.isFinite(cos3x) || !Double.isFinite(lnX2))
+                return Double.NaN;
+            return cos3x + lnX2;
+        }
+    },
+    RECIPROCAL("1/(x²+sin(x)) + 5") {
+        @Override
+        public double evaluate(double x) {
+            double denominator = x * x + Math.sin(x);
+            if (Math.abs(denominator) < 1e-15)
+                return Double.NaN;
+            return 1.0 / denominator + 5;
+        }
+    };
+
+    private final String displayName;
+
+    ReferenceFunction(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public abstract double evaluate(double x);
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static ReferenceFunction fromDisplayName(String displayName) {
+        for (ReferenceFunction function : values()) {
+            if (function.displayName.equals(displayName)) {
+                return function;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная функция");
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.ifmo.cs.model;
+
+public enum SplineBoundary {
+    NATURAL("Естественный"),
+    CLAMPED("Защемлённый"),
+    NOT_A_KNOT("Без узла (not-a-knot)");
+
+    private final String displayName;
+
+    SplineBoundary(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
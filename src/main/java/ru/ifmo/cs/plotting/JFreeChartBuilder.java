@@ -9,19 +9,36 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
+import ru.ifmo.cs.model.BatchInterpolationResult;
+import ru.ifmo.cs.model.InterpolationMethod;
 import ru.ifmo.cs.model.InterpolationPoint;
+import ru.ifmo.cs.model.PointSet;
+import ru.ifmo.cs.model.ReferenceFunction;
+import ru.ifmo.cs.model.SplineBoundary;
+import ru.ifmo.cs.service.InterpolationService;
+import ru.ifmo.cs.service.ParallelInterpolationExecutor;
 
 import javax.swing.*;
 import java.awt.*;
-import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.List;
 
 public class JFreeChartBuilder {
 
+    // Кривые строятся сервисом вызывающего кода, чтобы точность на графике совпадала с точностью расчёта
     public static ChartPanel createChart(String title,
                                        List<InterpolationPoint> dataPoints,
                                        String selectedFunction,
-                                       double targetX) {
+                                       double targetX,
+                                       InterpolationService service) {
+        return createChart(title, PointSet.of(dataPoints), selectedFunction, targetX, service);
+    }
+
+    public static ChartPanel createChart(String title,
+                                       PointSet dataPoints,
+                                       String selectedFunction,
+                                       double targetX,
+                                       InterpolationService service) {
         XYSeriesCollection dataset = new XYSeriesCollection();
 
         addCoordinateAxes(dataset);
@@ -36,7 +53,7 @@ public class JFreeChartBuilder {
             addFunctionSeries(dataset, selectedFunction, dataPoints);
         }
 
-        addInterpolationMethods(dataset, dataPoints, targetX);
+        addInterpolationMethods(dataset, dataPoints, targetX, service);
 
         JFreeChart chart = ChartFactory.createXYLineChart(
                 title,
@@ -51,7 +68,7 @@ public class JFreeChartBuilder {
 
         configureAxes(chart, dataPoints);
 
-        configureRenderer(chart, 5);
+        configureRenderer(chart, 6);
 
         ChartPanel chartPanel = new ChartPanel(chart);
         chartPanel.setPreferredSize(new Dimension(800, 600));
@@ -73,15 +90,15 @@ public class JFreeChartBuilder {
         dataset.addSeries(yAxisSeries);
     }
 
-    private static void addDataPoints(XYSeriesCollection dataset, List<InterpolationPoint> dataPoints) {
+    private static void addDataPoints(XYSeriesCollection dataset, PointSet dataPoints) {
         XYSeries pointsSeries = new XYSeries("Узлы интерполяции");
-        for (InterpolationPoint point : dataPoints) {
-            pointsSeries.add(point.getX(), point.getY());
+        for (int i = 0; i < dataPoints.size(); i++) {
+            pointsSeries.add(dataPoints.getX(i), dataPoints.getY(i));
         }
         dataset.addSeries(pointsSeries);
     }
 
-    private static void addTargetPoint(XYSeriesCollection dataset, List<InterpolationPoint> dataPoints, double targetX) {
+    private static void addTargetPoint(XYSeriesCollection dataset, PointSet dataPoints, double targetX) {
 
         XYSeries targetSeries = new XYSeries("Целевая точка");
         targetSeries.add(targetX, 0);
@@ -89,12 +106,8 @@ public class JFreeChartBuilder {
 
         XYSeries verticalLineSeries = new XYSeries("Вертикальная линия");
 
-        double minY = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getY)
-                .min().orElse(-10);
-        double maxY = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getY)
-                .max().orElse(10);
+        double minY = dataPoints.isEmpty() ? -10 : dataPoints.getMinY();
+        double maxY = dataPoints.isEmpty() ? 10 : dataPoints.getMaxY();
 
         double yRange = maxY - minY;
         minY -= yRange * 0.2;
@@ -105,15 +118,11 @@ public class JFreeChartBuilder {
         dataset.addSeries(verticalLineSeries);
     }
 
-    private static void addFunctionSeries(XYSeriesCollection dataset, String selectedFunction, List<InterpolationPoint> dataPoints) {
+    private static void addFunctionSeries(XYSeriesCollection dataset, String selectedFunction, PointSet dataPoints) {
         XYSeries functionSeries = new XYSeries("Исходная функция: " + selectedFunction);
 
-        double minX = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getX)
-                .min().orElse(0) - 1;
-        double maxX = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getX)
-                .max().orElse(0) + 1;
+        double minX = (dataPoints.isEmpty() ? 0 : dataPoints.getMinX()) - 1;
+        double maxX = (dataPoints.isEmpty() ? 0 : dataPoints.getMaxX()) + 1;
 
         double range = maxX - minX;
         minX -= range * 0.2;
@@ -190,35 +199,38 @@ public class JFreeChartBuilder {
         }
     }
 
-    private static void addInterpolationMethods(XYSeriesCollection dataset, List<InterpolationPoint> dataPoints, double targetX) {
+    private static void addInterpolationMethods(XYSeriesCollection dataset, PointSet dataPoints, double targetX,
+                                                InterpolationService service) {
         if (dataPoints.size() < 2) return;
 
-        double minX = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getX)
-                .min().orElse(0) - 1;
-        double maxX = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getX)
-                .max().orElse(0) + 1;
+        double minX = (dataPoints.isEmpty() ? 0 : dataPoints.getMinX()) - 1;
+        double maxX = (dataPoints.isEmpty() ? 0 : dataPoints.getMaxX()) + 1;
 
         double range = maxX - minX;
         minX -= range * 0.2;
         maxX += range * 0.2;
 
-        String[] methodNames = {"Лагранж", "Ньютон (разделенные)", "Ньютон (конечные)", "Стирлинг", "Бессель"};
-        Color[] methodColors = {Color.BLUE, Color.GREEN, Color.ORANGE, Color.MAGENTA, Color.CYAN};
+        String[] methodNames = {"Лагранж", "Ньютон (разделенные)", "Ньютон (конечные)", "Стирлинг", "Бессель",
+                                "Кубический сплайн"};
+        Color[] methodColors = {Color.BLUE, Color.GREEN, Color.ORANGE, Color.MAGENTA, Color.CYAN, Color.PINK};
+
+        double[] xs = new double[501];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = minX + (maxX - minX) * i / 500.0;
+        }
+        double[] ys = new double[xs.length];
+        BatchInterpolationResult curves = new ParallelInterpolationExecutor(service).evaluate(
+                dataPoints, EnumSet.allOf(InterpolationMethod.class), xs);
 
         for (int methodIndex = 0; methodIndex < methodNames.length; methodIndex++) {
             XYSeries methodSeries = new XYSeries(methodNames[methodIndex]);
 
-            for (int i = 0; i <= 500; i++) {
-                double x = minX + (maxX - minX) * i / 500.0;
-                try {
-
-                    double y = calculateInterpolationValue(dataPoints, x, methodIndex);
-                    if (isFinite(y)) {
-                        methodSeries.add(x, y);
-                    }
-                } catch (Exception ignored) {
+            calculateInterpolationValues(service, curves, ys, methodIndex);
+            double offset = methodIndex * 0.2;
+            for (int i = 0; i < xs.length; i++) {
+                double y = ys[i] + offset;
+                if (isFinite(y)) {
+                    methodSeries.add(xs[i], y);
                 }
             }
 
@@ -227,63 +239,31 @@ public class JFreeChartBuilder {
         }
     }
 
-    private static double calculateInterpolationValue(List<InterpolationPoint> dataPoints, double x, int methodIndex) {
-        if (dataPoints.size() < 2) return 0;
-
-        double sum = 0;
-        for (int i = 0; i < dataPoints.size(); i++) {
-            InterpolationPoint point = dataPoints.get(i);
-            double weight = 1.0;
-
-            for (int j = 0; j < dataPoints.size(); j++) {
-                if (i != j) {
-                    InterpolationPoint otherPoint = dataPoints.get(j);
-                    weight *= (x - otherPoint.getX()) / (point.getX() - otherPoint.getX());
-                }
-            }
-            sum += point.getY() * weight;
+    private static void calculateInterpolationValues(InterpolationService service, BatchInterpolationResult curves,
+                                                     double[] ys, int methodIndex) {
+        InterpolationMethod[] methods = InterpolationMethod.values();
+        if (methodIndex < methods.length) {
+            System.arraycopy(curves.getValues(methods[methodIndex]), 0, ys, 0, ys.length);
+        } else {
+            service.splineInterpolation(curves.getPoints(), SplineBoundary.NATURAL, curves.getXs(), ys);
         }
-
-        double offset = methodIndex * 0.2;
-        return sum + offset;
     }
 
     private static double calculateFunction(String function, double x) {
-
-        switch (function) {
-            case "sin(x² + 3)/(x - 1)":
-                return Math.sin(x * x + 3) / (x - 1);
-            case "cos(3x) + ln(x+2)":
-                return Math.cos(3 * x) + Math.log(x + 2);
-            case "tan(x+1)/(x²-1)":
-                return Math.tan(x + 1) / (x * x - 1);
-            case "√(x⁴+3x) * e^(-x)":
-                return Math.sqrt(x * x * x * x + 3 * x) * Math.exp(-x);
-            case "1/(x²+sin(x)) + 5":
-                return 1.0 / (x * x + Math.sin(x)) + 5;
-            default:
-                return 0;
-        }
+        return ReferenceFunction.fromDisplayName(function).evaluate(x);
     }
 
     private static boolean isFinite(double value) {
         return !Double.isNaN(value) && !Double.isInfinite(value);
     }
 
-    private static boolean isTargetInsideInterval(List<InterpolationPoint> dataPoints, double targetX) {
+    private static boolean isTargetInsideInterval(PointSet dataPoints, double targetX) {
         if (dataPoints.isEmpty()) return false;
 
-        double minX = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getX)
-                .min().orElse(0);
-        double maxX = dataPoints.stream()
-                .mapToDouble(InterpolationPoint::getX)
-                .max().orElse(0);
-
-        return targetX >= minX && targetX <= maxX;
+        return targetX >= dataPoints.getMinX() && targetX <= dataPoints.getMaxX();
     }
 
-    private static void configureAxes(JFreeChart chart, List<InterpolationPoint> dataPoints) {
+    private static void configureAxes(JFreeChart chart, PointSet dataPoints) {
         XYPlot plot = chart.getXYPlot();
         NumberAxis domainAxis = (NumberAxis) plot.getDomainAxis();
         NumberAxis rangeAxis = (NumberAxis) plot.getRangeAxis();
@@ -299,18 +279,10 @@ public class JFreeChartBuilder {
         rangeAxis.setTickLabelPaint(Color.BLACK);
 
         if (!dataPoints.isEmpty()) {
-            double minY = dataPoints.stream()
-                    .mapToDouble(InterpolationPoint::getY)
-                    .min().orElse(-10);
-            double maxY = dataPoints.stream()
-                    .mapToDouble(InterpolationPoint::getY)
-                    .max().orElse(10);
-            double minX = dataPoints.stream()
-                    .mapToDouble(InterpolationPoint::getX)
-                    .min().orElse(-10);
-            double maxX = dataPoints.stream()
-                    .mapToDouble(InterpolationPoint::getX)
-                    .max().orElse(10);
+            double minY = dataPoints.getMinY();
+            double maxY = dataPoints.getMaxY();
+            double minX = dataPoints.getMinX();
+            double maxX = dataPoints.getMaxX();
 
             double yRange = maxY - minY;
             double xRange = maxX - minX;
@@ -362,7 +334,7 @@ public class JFreeChartBuilder {
         renderer.setSeriesStroke(5, new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
         renderer.setSeriesPaint(5, new Color(100, 100, 100));
 
-        Color[] methodColors = {Color.BLUE, Color.GREEN, Color.ORANGE, Color.MAGENTA, Color.CYAN};
+        Color[] methodColors = {Color.BLUE, Color.GREEN, Color.ORANGE, Color.MAGENTA, Color.CYAN, Color.PINK};
         for (int i = 0; i < methodCount; i++) {
             int seriesIndex = 6 + i;
             renderer.setSeriesLinesVisible(seriesIndex, true);
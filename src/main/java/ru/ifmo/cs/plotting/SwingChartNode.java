@@ -3,6 +3,8 @@ package ru.ifmo.cs.plotting;
 import javafx.embed.swing.SwingNode;
 import javafx.scene.Node;
 import ru.ifmo.cs.model.InterpolationPoint;
+import ru.ifmo.cs.model.PointSet;
+import ru.ifmo.cs.service.InterpolationService;
 
 import javax.swing.*;
 import java.util.List;
@@ -12,7 +14,16 @@ public class SwingChartNode {
     public static Node createChartNode(String title,
                                      List<InterpolationPoint> dataPoints,
                                      String selectedFunction,
-                                     double targetX) {
+                                     double targetX,
+                                     InterpolationService service) {
+        return createChartNode(title, PointSet.of(dataPoints), selectedFunction, targetX, service);
+    }
+
+    public static Node createChartNode(String title,
+                                     PointSet dataPoints,
+                                     String selectedFunction,
+                                     double targetX,
+                                     InterpolationService service) {
         SwingNode swingNode = new SwingNode();
 
         SwingUtilities.invokeLater(() -> {
@@ -25,7 +36,8 @@ public class SwingChartNode {
                 title,
                 dataPoints,
                 selectedFunction,
-                targetX
+                targetX,
+                service
             );
 
             swingNode.setContent(chartPanel);
@@ -0,0 +1,114 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.InterpolationPoint;
+import java.util.Arrays;
+import java.util.List;
+
+public class BarycentricLagrangeInterpolant {
+    private final double[] xValues;
+    private final double[] yValues;
+    private final double[] weights;
+    private final boolean valid;
+
+    public BarycentricLagrangeInterpolant(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы x и y должны иметь одинаковую длину");
+        }
+        this.xValues = xValues.clone();
+        this.yValues = yValues.clone();
+        this.weights = new double[xValues.length];
+        this.valid = xValues.length >= 2 && computeWeights();
+    }
+
+    public static BarycentricLagrangeInterpolant of(List<InterpolationPoint> points) {
+        int n = points.size();
+        double[] xValues = new double[n];
+        double[] yValues = new double[n];
+        for (int i = 0; i < n; i++) {
+            xValues[i] = points.get(i).getX();
+            yValues[i] = points.get(i).getY();
+        }
+        return new BarycentricLagrangeInterpolant(xValues, yValues);
+    }
+
+    private boolean computeWeights() {
+        int n = xValues.length;
+
+        double minX = xValues[0];
+        double maxX = xValues[0];
+        for (int i = 0; i < n; i++) {
+            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
+                return false;
+            }
+            minX = Math.min(minX, xValues[i]);
+            maxX = Math.max(maxX, xValues[i]);
+        }
+
+        // Общий множитель 4/(b-a) сокращается в формуле, но не даёт весам переполниться при больших n
+        double scale = maxX > minX ? 4.0 / (maxX - minX) : 1.0;
+        if (!Double.isFinite(scale)) {
+            scale = 1.0;
+        }
+
+        for (int i = 0; i < n; i++) {
+            double product = 1.0;
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    double difference = xValues[i] - xValues[j];
+                    if (Math.abs(difference) < 1e-15) {
+                        return false;
+                    }
+                    product *= difference * scale;
+                }
+            }
+            weights[i] = 1.0 / product;
+            if (!Double.isFinite(weights[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public double evaluate(double x) {
+        if (!valid) return Double.NaN;
+
+        double numerator = 0.0;
+        double denominator = 0.0;
+        for (int j = 0; j < xValues.length; j++) {
+            double difference = x - xValues[j];
+            if (difference == 0.0) {
+                return yValues[j];
+            }
+            double term = weights[j] / difference;
+            numerator += term * yValues[j];
+            denominator += term;
+        }
+
+        double result = numerator / denominator;
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        evaluate(xs, 0, xs.length, out);
+    }
+
+    void evaluate(double[] xs, int from, int to, double[] out) {
+        if (!valid) {
+            Arrays.fill(out, from, to, Double.NaN);
+            return;
+        }
+
+        BatchKernels.barycentric(xValues, yValues, weights, xs, from, to, out);
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int size() {
+        return xValues.length;
+    }
+}
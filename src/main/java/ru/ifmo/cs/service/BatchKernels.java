@@ -0,0 +1,111 @@
+package ru.ifmo.cs.service;
+
+// Выбор реализации пакетных циклов: векторная, если модуль jdk.incubator.vector подключён, иначе скалярная.
+// Отключить векторные ядра можно свойством -Dru.ifmo.cs.vector=false.
+final class BatchKernels {
+    private static final boolean VECTORIZED = detectVectorSupport();
+
+    private BatchKernels() {
+    }
+
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    private static boolean detectVectorSupport() {
+        if (!Boolean.parseBoolean(System.getProperty("ru.ifmo.cs.vector", "true"))) {
+            return false;
+        }
+        try {
+            return VectorKernels.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    static void horner(double[] nodes, double[] coefficients, int size, double[] xs, double[] out) {
+        horner(nodes, coefficients, size, xs, 0, xs.length, out);
+    }
+
+    // Вычисление на отрезке [from, to) аргументов: куски параллельного вычисления пишут прямо в общий out
+    static void horner(double[] nodes, double[] coefficients, int size,
+                       double[] xs, int from, int to, double[] out) {
+        int done = VECTORIZED ? VectorKernels.horner(nodes, coefficients, size, xs, out, from, to) : from;
+
+        double leading = coefficients[size - 1];
+        for (int k = done; k < to; k++) {
+            double x = xs[k];
+            double result = leading;
+            for (int i = size - 2; i >= 0; i--) {
+                result = result * (x - nodes[i]) + coefficients[i];
+            }
+            out[k] = result;
+        }
+        replaceNonFinite(out, from, to);
+    }
+
+    static void barycentric(double[] nodes, double[] values, double[] weights, double[] xs, double[] out) {
+        barycentric(nodes, values, weights, xs, 0, xs.length, out);
+    }
+
+    static void barycentric(double[] nodes, double[] values, double[] weights,
+                            double[] xs, int from, int to, double[] out) {
+        int done = from;
+        if (VECTORIZED) {
+            int lanes = VectorKernels.lanes();
+            boolean[] exactHits = new boolean[(to - from) / lanes];
+            done = VectorKernels.barycentric(nodes, values, weights, xs, out, from, to, exactHits);
+            for (int block = 0; block < exactHits.length; block++) {
+                if (exactHits[block]) {
+                    int start = from + block * lanes;
+                    barycentricScalar(nodes, values, weights, xs, out, start, start + lanes);
+                }
+            }
+        }
+        barycentricScalar(nodes, values, weights, xs, out, done, to);
+        replaceNonFinite(out, from, to);
+    }
+
+    private static void barycentricScalar(double[] nodes, double[] values, double[] weights,
+                                          double[] xs, double[] out, int from, int to) {
+        int n = nodes.length;
+        for (int k = from; k < to; k++) {
+            double x = xs[k];
+            double numerator = 0.0;
+            double denominator = 0.0;
+            int exactNode = -1;
+            for (int j = 0; j < n; j++) {
+                double difference = x - nodes[j];
+                if (difference == 0.0) {
+                    exactNode = j;
+                    break;
+                }
+                double term = weights[j] / difference;
+                numerator += term * values[j];
+                denominator += term;
+            }
+            out[k] = exactNode >= 0 ? values[exactNode] : numerator / denominator;
+        }
+    }
+
+    // intervals[k] — номер отрезка сплайна для xs[k]
+    static void cubic(double[] knots, double[] a, double[] b, double[] c, double[] d,
+                      int[] intervals, double[] xs, double[] out) {
+        int done = VECTORIZED ? VectorKernels.cubic(knots, a, b, c, d, intervals, xs, out, xs.length) : 0;
+
+        for (int k = done; k < xs.length; k++) {
+            int i = intervals[k];
+            double t = xs[k] - knots[i];
+            out[k] = a[i] + t * (b[i] + t * (c[i] + t * d[i]));
+        }
+        replaceNonFinite(out, 0, xs.length);
+    }
+
+    private static void replaceNonFinite(double[] out, int from, int to) {
+        for (int k = from; k < to; k++) {
+            if (!Double.isFinite(out[k])) {
+                out[k] = Double.NaN;
+            }
+        }
+    }
+}
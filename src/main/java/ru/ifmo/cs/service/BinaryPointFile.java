@@ -0,0 +1,162 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.PointSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+// Двоичный формат набора точек: заголовок и два столбца double (сначала все x, затем все y), little-endian.
+// Заголовок (32 байта): "IPTS", версия (short), флаги (short), число точек (long), шаг сетки h (double),
+// смещение данных (long). Флаги: бит 0 — x отсортированы, бит 1 — сетка равномерная, тогда h её шаг.
+// Файл читается через отображение в память: getX/getY обращаются прямо к страницам файла без копирования.
+public final class BinaryPointFile {
+    static final int MAGIC = 'I' | 'P' << 8 | 'T' << 16 | 'S' << 24;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int FLAG_SORTED = 1;
+    static final int FLAG_UNIFORM = 2;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final DoubleBuffer xs;
+    private final DoubleBuffer ys;
+    private final int count;
+    private final boolean sorted;
+    private final boolean uniform;
+    private final double step;
+
+    private BinaryPointFile(DoubleBuffer xs, DoubleBuffer ys, int count, int flags, double step) {
+        this.xs = xs;
+        this.ys = ys;
+        this.count = count;
+        this.sorted = (flags & FLAG_SORTED) != 0;
+        this.uniform = (flags & FLAG_UNIFORM) != 0;
+        this.step = step;
+    }
+
+    public static void write(PointSet points, File file) throws IOException {
+        int n = points.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        // PointSet всегда отсортирован по x
+        header.putShort((short) (FLAG_SORTED | (points.isEquallySpaced() ? FLAG_UNIFORM : 0)));
+        header.putLong(n);
+        header.putDouble(points.isEquallySpaced() ? points.getStep() : Double.NaN);
+        header.putLong(HEADER_SIZE);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            writeColumn(channel, buffer, points.getXs());
+            writeColumn(channel, buffer, points.getYs());
+        }
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, double[] values) throws IOException {
+        int perBlock = buffer.capacity() / Double.BYTES;
+        for (int from = 0; from < values.length; from += perBlock) {
+            int length = Math.min(perBlock, values.length - from);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(values, from, length);
+            buffer.limit(length * Double.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Проверяет сигнатуру, не читая файл целиком
+    public static boolean isBinaryPointFile(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == MAGIC;
+        }
+    }
+
+    public static BinaryPointFile map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Файл слишком короткий для двоичного набора точек");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Файл больше 2 ГБ не может быть отображён в память целиком");
+            }
+            // Отображение остаётся действительным и после закрытия канала
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Неверная сигнатура двоичного набора точек");
+            }
+            short version = buffer.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия формата: " + version);
+            }
+            int flags = buffer.getShort(6);
+            long count = buffer.getLong(8);
+            double step = buffer.getDouble(16);
+            long offset = buffer.getLong(24);
+            if (count < 0 || offset < HEADER_SIZE || offset % Double.BYTES != 0
+                    || count > (size - offset) / (2L * Double.BYTES)) {
+                throw new IOException("Повреждённый заголовок двоичного набора точек");
+            }
+
+            int n = (int) count;
+            int columnBytes = n * Double.BYTES;
+            DoubleBuffer xs = buffer.slice((int) offset, columnBytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            DoubleBuffer ys = buffer.slice((int) offset + columnBytes, columnBytes).order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer();
+            return new BinaryPointFile(xs, ys, n, flags, step);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public double getX(int index) {
+        return xs.get(index);
+    }
+
+    public double getY(int index) {
+        return ys.get(index);
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    // Шаг равномерной сетки, NaN если сетка неравномерная
+    public double getStep() {
+        return uniform ? step : Double.NaN;
+    }
+
+    // Копирует столбцы в память кучи одним блочным чтением на столбец
+    public PointSet toPointSet() {
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        xs.get(0, xValues);
+        ys.get(0, yValues);
+        return PointSet.of(xValues, yValues);
+    }
+}
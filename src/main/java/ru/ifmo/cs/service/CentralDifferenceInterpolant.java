@@ -0,0 +1,177 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.FiniteDifferenceTable;
+import java.util.Arrays;
+
+public class CentralDifferenceInterpolant {
+    private final double h;
+    private final double stirlingCenterX;
+    private final double besselCenterX;
+    private final double[] stirlingCoefficients;
+    private final double[] besselCoefficients;
+    private final boolean valid;
+
+    public CentralDifferenceInterpolant(double[] xValues, double[] yValues) {
+        this(xValues, new FiniteDifferenceTable(yValues), Integer.MAX_VALUE);
+    }
+
+    public CentralDifferenceInterpolant(double[] xValues, double[] yValues, int maxOrder) {
+        this(xValues, new FiniteDifferenceTable(yValues), maxOrder);
+    }
+
+    public CentralDifferenceInterpolant(double[] xValues, FiniteDifferenceTable table) {
+        this(xValues, table, Integer.MAX_VALUE);
+    }
+
+    public CentralDifferenceInterpolant(double[] xValues, FiniteDifferenceTable table, int maxOrder) {
+        if (xValues.length != table.size()) {
+            throw new IllegalArgumentException("Таблица разностей построена для другого числа узлов");
+        }
+        if (maxOrder < 0) {
+            throw new IllegalArgumentException("Порядок разностей не может быть отрицательным");
+        }
+
+        int n = xValues.length;
+        boolean finite = n >= 3;
+        for (int i = 0; i < n && finite; i++) {
+            finite = Double.isFinite(xValues[i]) && Double.isFinite(table.get(i, 0));
+        }
+        this.valid = finite;
+
+        if (!valid) {
+            this.h = Double.NaN;
+            this.stirlingCenterX = Double.NaN;
+            this.besselCenterX = Double.NaN;
+            this.stirlingCoefficients = new double[0];
+            this.besselCoefficients = new double[0];
+            return;
+        }
+
+        // Стирлинг берёт узлы center-K..center+K, Бессель — center-K..center+K+1
+        int stirlingCenter = n / 2;
+        int besselCenter = (n - 1) / 2;
+        int stirlingOrder = Math.min(maxOrder, 2 * Math.min(stirlingCenter, n - 1 - stirlingCenter));
+        int besselOrder = Math.min(maxOrder, 2 * Math.min(besselCenter, n - 2 - besselCenter) + 1);
+
+        this.h = xValues[1] - xValues[0];
+        this.stirlingCenterX = xValues[stirlingCenter];
+        this.besselCenterX = xValues[besselCenter];
+        this.stirlingCoefficients = new double[stirlingOrder + 1];
+        this.besselCoefficients = new double[besselOrder + 1];
+
+        stirlingCoefficients[0] = table.get(stirlingCenter, 0);
+        besselCoefficients[0] = (table.get(besselCenter, 0) + table.get(besselCenter + 1, 0)) / 2.0;
+
+        // Коэффициенты — сами разности, деление на k! перенесено в произведения по t
+        int lastOrder = Math.max(stirlingOrder, besselOrder);
+        for (int k = 1; k <= lastOrder; k++) {
+            int half = (k + 1) / 2;
+            if (k <= stirlingOrder) {
+                if (k % 2 == 1) {
+                    // (Δᵏy₋ₘ + Δᵏy₋ₘ₊₁) / 2, m = (k+1)/2
+                    stirlingCoefficients[k] = (table.get(stirlingCenter - half, k)
+                            + table.get(stirlingCenter - half + 1, k)) / 2.0;
+                } else {
+                    stirlingCoefficients[k] = table.get(stirlingCenter - k / 2, k);
+                }
+            }
+            if (k <= besselOrder) {
+                if (k % 2 == 1) {
+                    besselCoefficients[k] = table.get(besselCenter - k / 2, k);
+                } else {
+                    besselCoefficients[k] = (table.get(besselCenter - k / 2, k)
+                            + table.get(besselCenter - k / 2 + 1, k)) / 2.0;
+                }
+            }
+        }
+    }
+
+    public double stirling(double x) {
+        if (!valid) return Double.NaN;
+
+        double t = (x - stirlingCenterX) / h;
+        double tSquared = t * t;
+        int order = stirlingCoefficients.length - 1;
+
+        // Pₘ/m!: t, t², t(t²-1), t²(t²-1), t(t²-1)(t²-4), ... делённые на m! по ходу накопления
+        double[] reciprocals = Factorials.reciprocalTable(order + 2);
+        double result = stirlingCoefficients[0];
+        double odd = t;
+        for (int k = 1; 2 * k - 1 <= order; k++) {
+            result += stirlingCoefficients[2 * k - 1] * odd;
+            if (2 * k <= order) {
+                result += stirlingCoefficients[2 * k] * (odd * t * reciprocals[2 * k]);
+            }
+            odd *= (tSquared - (double) k * k) * reciprocals[2 * k] * reciprocals[2 * k + 1];
+        }
+
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public double bessel(double x) {
+        if (!valid) return Double.NaN;
+
+        double t = (x - besselCenterX) / h;
+        double shifted = t - 0.5;
+        int order = besselCoefficients.length - 1;
+
+        // Gₖ = (t+k-1)...(t+1)t(t-1)...(t-k); чётный член Gₖ/(2k)!, нечётный (t-1/2)Gₖ/(2k+1)!
+        double[] reciprocals = Factorials.reciprocalTable(order + 1);
+        double result = besselCoefficients[0];
+        double product = 1.0;
+        for (int k = 0; 2 * k + 1 <= order; k++) {
+            if (k > 0) {
+                product *= (t + k - 1) * (t - k) * reciprocals[2 * k - 1] * reciprocals[2 * k];
+                result += besselCoefficients[2 * k] * product;
+            }
+            result += besselCoefficients[2 * k + 1] * shifted * product * reciprocals[2 * k + 1];
+        }
+        if (order > 0 && order % 2 == 0) {
+            int k = order / 2;
+            product *= (t + k - 1) * (t - k) * reciprocals[2 * k - 1] * reciprocals[2 * k];
+            result += besselCoefficients[order] * product;
+        }
+
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public void stirling(double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        if (!valid) {
+            Arrays.fill(out, 0, xs.length, Double.NaN);
+            return;
+        }
+        for (int k = 0; k < xs.length; k++) {
+            out[k] = stirling(xs[k]);
+        }
+    }
+
+    public void bessel(double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        if (!valid) {
+            Arrays.fill(out, 0, xs.length, Double.NaN);
+            return;
+        }
+        for (int k = 0; k < xs.length; k++) {
+            out[k] = bessel(xs[k]);
+        }
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getStirlingOrder() {
+        return stirlingCoefficients.length - 1;
+    }
+
+    public int getBesselOrder() {
+        return besselCoefficients.length - 1;
+    }
+
+    private void checkBatchArguments(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.NodeDistribution;
+import ru.ifmo.cs.model.PointSet;
+import java.util.Arrays;
+
+public class ChebyshevInterpolant {
+    private static final double NODE_TOLERANCE = 1e-9;
+
+    private final double start;
+    private final double end;
+    private final double[] coefficients;
+    private final boolean valid;
+
+    // values[i] — значение в i-м по возрастанию чебышёвском узле отрезка [start, end]
+    public ChebyshevInterpolant(double start, double end, double[] values) {
+        if (!(start < end)) {
+            throw new IllegalArgumentException("Начало интервала должно быть меньше конца");
+        }
+        this.start = start;
+        this.end = end;
+        this.coefficients = new double[values.length];
+        this.valid = values.length >= 1 && computeCoefficients(values);
+    }
+
+    private ChebyshevInterpolant() {
+        this.start = Double.NaN;
+        this.end = Double.NaN;
+        this.coefficients = new double[0];
+        this.valid = false;
+    }
+
+    public static ChebyshevInterpolant of(PointSet points) {
+        int n = points.size();
+        if (n < 2 || !Double.isFinite(points.getMinX()) || !Double.isFinite(points.getMaxX())) {
+            return new ChebyshevInterpolant();
+        }
+
+        // Крайние узлы отстоят от концов отрезка на r·(1 - cos(π/2n)), отсюда восстанавливаем [start, end]
+        double middle = (points.getMinX() + points.getMaxX()) / 2.0;
+        double radius = (points.getMaxX() - points.getMinX()) / (2.0 * Math.cos(Math.PI / (2.0 * n)));
+        if (!(radius > 0)) {
+            return new ChebyshevInterpolant();
+        }
+
+        double[] expected = NodeDistribution.CHEBYSHEV.nodes(middle - radius, middle + radius, n);
+        double tolerance = NODE_TOLERANCE * Math.max(1.0, radius);
+        for (int i = 0; i < n; i++) {
+            if (!(Math.abs(points.getX(i) - expected[i]) <= tolerance)) {
+                return new ChebyshevInterpolant();
+            }
+        }
+        return new ChebyshevInterpolant(middle - radius, middle + radius, points.getYs());
+    }
+
+    private boolean computeCoefficients(double[] values) {
+        int n = values.length;
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                return false;
+            }
+        }
+
+        // cos(jπ(2k+1)/2n) берётся из таблицы cos(πm/2n), m = j(2k+1) mod 4n
+        int period = 4 * n;
+        double[] cosines = new double[period];
+        for (int m = 0; m < period; m++) {
+            cosines[m] = Math.cos(Math.PI * m / (2.0 * n));
+        }
+
+        // Узел k в стандартной нумерации (по убыванию) — это values[n-1-k]
+        for (int j = 0; j < n; j++) {
+            double sum = 0.0;
+            for (int k = 0; k < n; k++) {
+                int m = (int) ((long) j * (2 * k + 1) % period);
+                sum += values[n - 1 - k] * cosines[m];
+            }
+            coefficients[j] = (j == 0 ? 1.0 : 2.0) * sum / n;
+        }
+        return true;
+    }
+
+    public double evaluate(double x) {
+        if (!valid) return Double.NaN;
+
+        // Схема Кленшоу: b(k) = c(k) + 2u·b(k+1) - b(k+2)
+        double u = (2.0 * x - start - end) / (end - start);
+        double twoU = 2.0 * u;
+        double next = 0.0;
+        double afterNext = 0.0;
+        for (int k = coefficients.length - 1; k >= 1; k--) {
+            double current = coefficients[k] + twoU * next - afterNext;
+            afterNext = next;
+            next = current;
+        }
+        double result = coefficients[0] + u * next - afterNext;
+
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        if (!valid) {
+            Arrays.fill(out, 0, xs.length, Double.NaN);
+            return;
+        }
+        for (int k = 0; k < xs.length; k++) {
+            out[k] = evaluate(xs[k]);
+        }
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int size() {
+        return coefficients.length;
+    }
+
+    public double getStart() {
+        return start;
+    }
+
+    public double getEnd() {
+        return end;
+    }
+
+    public double[] getCoefficients() {
+        return coefficients.clone();
+    }
+}
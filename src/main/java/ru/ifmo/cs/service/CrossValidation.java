@@ -0,0 +1,87 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.CrossValidationResult;
+import ru.ifmo.cs.model.PointSet;
+import java.util.Arrays;
+
+// Скользящий контроль (leave-one-out) для интерполяционного многочлена за O(n²) вместо O(n³).
+// Барицентрические веса без узла k равны w(j)·(x(j) - x(k)), поэтому значение многочлена без k-го узла в x(k)
+// сводится к (S - w(k)·y(k)) / (W - w(k)), где S = Σ w(j)·y(j), W = Σ w(j): каждый остаток считается за O(1).
+public class CrossValidation {
+
+    public CrossValidationResult leaveOneOut(PointSet points) {
+        int n = points.size();
+        double[] xValues = points.getXs();
+        double[] yValues = points.getYs();
+        double[] residuals = new double[n];
+
+        double[] weights = n >= 2 ? weights(xValues, yValues) : null;
+        if (weights == null) {
+            Arrays.fill(residuals, Double.NaN);
+            return new CrossValidationResult(points, residuals);
+        }
+
+        // W в точной арифметике равна нулю, поэтому W - w(k) — разность близких чисел: суммы ведутся в double-double
+        DoubleDouble weightedSum = DoubleDouble.ZERO;
+        DoubleDouble weightSum = DoubleDouble.ZERO;
+        double absoluteSum = 0.0;
+        for (int j = 0; j < n; j++) {
+            weightedSum = weightedSum.add(DoubleDouble.of(weights[j]).multiply(yValues[j]));
+            weightSum = weightSum.add(weights[j]);
+            absoluteSum += Math.abs(weights[j]);
+        }
+        // Граница ошибки суммы W в double-double с запасом; знаменатель не больше неё — это шум округления
+        double noise = 0x1p-100 * n * absoluteSum;
+        for (int k = 0; k < n; k++) {
+            // Вес, ушедший в ноль или в субнормальные числа, потерял значащие цифры: остаток не определён
+            DoubleDouble denominator = weightSum.add(-weights[k]);
+            if (Math.abs(weights[k]) < Double.MIN_NORMAL || Math.abs(denominator.doubleValue()) <= noise) {
+                residuals[k] = Double.NaN;
+                continue;
+            }
+            DoubleDouble numerator = weightedSum.subtract(DoubleDouble.of(weights[k]).multiply(yValues[k]));
+            double prediction = numerator.divide(denominator).doubleValue();
+            double residual = yValues[k] - prediction;
+            residuals[k] = Double.isFinite(residual) ? residual : Double.NaN;
+        }
+        return new CrossValidationResult(points, residuals);
+    }
+
+    // Веса 1/Π(x(i) - x(j)), нормированные на наибольший: произведения хранятся с отдельным двоичным порядком,
+    // иначе при тысячах узлов они переполняются. Веса, ничтожные по сравнению с наибольшим, обращаются в ноль,
+    // и остатки для таких узлов leaveOneOut помечает NaN.
+    private static double[] weights(double[] xValues, double[] yValues) {
+        int n = xValues.length;
+        double[] mantissas = new double[n];
+        int[] exponents = new int[n];
+        int maxExponent = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
+                return null;
+            }
+            double mantissa = 1.0;
+            int exponent = 0;
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    double difference = xValues[i] - xValues[j];
+                    if (Math.abs(difference) < 1e-15) {
+                        return null;
+                    }
+                    mantissa *= difference;
+                    int shift = Math.getExponent(mantissa);
+                    mantissa = Math.scalb(mantissa, -shift);
+                    exponent += shift;
+                }
+            }
+            mantissas[i] = 1.0 / mantissa;
+            exponents[i] = -exponent;
+            maxExponent = Math.max(maxExponent, exponents[i]);
+        }
+
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = Math.scalb(mantissas[i], exponents[i] - maxExponent);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,262 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.SplineBoundary;
+import java.util.Arrays;
+
+public class CubicSpline {
+    private final SplineBoundary boundary;
+    private final double[] xValues;
+    // На отрезке i: S(x) = a[i] + b[i]·t + c[i]·t² + d[i]·t³, t = x - x[i]
+    private final double[] a;
+    private final double[] b;
+    private final double[] c;
+    private final double[] d;
+    private final boolean valid;
+
+    public CubicSpline(double[] xValues, double[] yValues, SplineBoundary boundary) {
+        this(xValues, yValues, boundary, Double.NaN, Double.NaN);
+    }
+
+    public CubicSpline(double[] xValues, double[] yValues, double startSlope, double endSlope) {
+        this(xValues, yValues, SplineBoundary.CLAMPED, startSlope, endSlope);
+        if (!Double.isFinite(startSlope) || !Double.isFinite(endSlope)) {
+            throw new IllegalArgumentException("Производные на концах должны быть конечными числами");
+        }
+    }
+
+    private CubicSpline(double[] xValues, double[] yValues, SplineBoundary boundary,
+                        double startSlope, double endSlope) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы x и y должны иметь одинаковую длину");
+        }
+        int n = xValues.length;
+        int intervals = Math.max(n - 1, 0);
+        this.boundary = boundary;
+        this.xValues = xValues.clone();
+        this.a = new double[intervals];
+        this.b = new double[intervals];
+        this.c = new double[intervals];
+        this.d = new double[intervals];
+        this.valid = n >= 2 && computeCoefficients(yValues, startSlope, endSlope);
+    }
+
+    private boolean computeCoefficients(double[] yValues, double startSlope, double endSlope) {
+        int n = xValues.length;
+        double[] h = new double[n - 1];
+        double[] slopes = new double[n - 1];
+        for (int i = 0; i < n; i++) {
+            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
+                return false;
+            }
+        }
+        for (int i = 0; i < n - 1; i++) {
+            h[i] = xValues[i + 1] - xValues[i];
+            if (h[i] < 1e-15) {
+                return false;
+            }
+            slopes[i] = (yValues[i + 1] - yValues[i]) / h[i];
+        }
+
+        double[] moments;
+        if (boundary == SplineBoundary.NOT_A_KNOT) {
+            moments = notAKnotMoments(h, slopes);
+        } else if (boundary == SplineBoundary.CLAMPED) {
+            if (Double.isNaN(startSlope)) {
+                startSlope = estimateStartSlope(h, slopes);
+                endSlope = estimateEndSlope(h, slopes);
+            }
+            moments = clampedMoments(h, slopes, startSlope, endSlope);
+        } else {
+            moments = naturalMoments(h, slopes);
+        }
+        if (moments == null) {
+            return false;
+        }
+
+        for (int i = 0; i < n - 1; i++) {
+            a[i] = yValues[i];
+            b[i] = slopes[i] - h[i] * (2.0 * moments[i] + moments[i + 1]) / 6.0;
+            c[i] = moments[i] / 2.0;
+            d[i] = (moments[i + 1] - moments[i]) / (6.0 * h[i]);
+            if (!Double.isFinite(b[i]) || !Double.isFinite(d[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Моменты M(i) = S''(x(i)) из уравнений h(i-1)·M(i-1) + 2(h(i-1)+h(i))·M(i) + h(i)·M(i+1) = 6(d(i) - d(i-1))
+    private static double[] naturalMoments(double[] h, double[] slopes) {
+        int n = h.length + 1;
+        double[] sub = new double[n];
+        double[] diag = new double[n];
+        double[] sup = new double[n];
+        double[] rhs = new double[n];
+        diag[0] = 1.0;
+        diag[n - 1] = 1.0;
+        fillInteriorRows(h, slopes, sub, diag, sup, rhs, 0);
+        return solveTridiagonal(sub, diag, sup, rhs) ? rhs : null;
+    }
+
+    private static double[] clampedMoments(double[] h, double[] slopes, double startSlope, double endSlope) {
+        int n = h.length + 1;
+        double[] sub = new double[n];
+        double[] diag = new double[n];
+        double[] sup = new double[n];
+        double[] rhs = new double[n];
+        diag[0] = 2.0 * h[0];
+        sup[0] = h[0];
+        rhs[0] = 6.0 * (slopes[0] - startSlope);
+        sub[n - 1] = h[n - 2];
+        diag[n - 1] = 2.0 * h[n - 2];
+        rhs[n - 1] = 6.0 * (endSlope - slopes[n - 2]);
+        fillInteriorRows(h, slopes, sub, diag, sup, rhs, 0);
+        return solveTridiagonal(sub, diag, sup, rhs) ? rhs : null;
+    }
+
+    private static double[] notAKnotMoments(double[] h, double[] slopes) {
+        int n = h.length + 1;
+        if (n == 2) {
+            return new double[2];
+        }
+        if (n == 3) {
+            // Два условия в одном внутреннем узле: сплайн вырождается в параболу через три точки
+            double moment = 2.0 * (slopes[1] - slopes[0]) / (h[0] + h[1]);
+            return new double[]{moment, moment, moment};
+        }
+
+        // M(0) и M(n-1) выражаются через соседей из непрерывности S''' в x(1) и x(n-2)
+        int m = n - 2;
+        double[] sub = new double[m];
+        double[] diag = new double[m];
+        double[] sup = new double[m];
+        double[] rhs = new double[m];
+        fillInteriorRows(h, slopes, sub, diag, sup, rhs, 1);
+        diag[0] += h[0] * (h[0] + h[1]) / h[1];
+        sup[0] -= h[0] * h[0] / h[1];
+        diag[m - 1] += h[n - 2] * (h[n - 3] + h[n - 2]) / h[n - 3];
+        sub[m - 1] -= h[n - 2] * h[n - 2] / h[n - 3];
+        if (!solveTridiagonal(sub, diag, sup, rhs)) {
+            return null;
+        }
+
+        double[] moments = new double[n];
+        System.arraycopy(rhs, 0, moments, 1, m);
+        moments[0] = ((h[0] + h[1]) * moments[1] - h[0] * moments[2]) / h[1];
+        moments[n - 1] = ((h[n - 3] + h[n - 2]) * moments[n - 2] - h[n - 2] * moments[n - 3]) / h[n - 3];
+        return moments;
+    }
+
+    private static void fillInteriorRows(double[] h, double[] slopes, double[] sub, double[] diag,
+                                         double[] sup, double[] rhs, int shift) {
+        for (int i = 1; i < h.length; i++) {
+            int row = i - shift;
+            sub[row] = h[i - 1];
+            diag[row] = 2.0 * (h[i - 1] + h[i]);
+            sup[row] = h[i];
+            rhs[row] = 6.0 * (slopes[i] - slopes[i - 1]);
+        }
+    }
+
+    // Прогонка (алгоритм Томаса), решение записывается в rhs
+    private static boolean solveTridiagonal(double[] sub, double[] diag, double[] sup, double[] rhs) {
+        int n = diag.length;
+        for (int i = 1; i < n; i++) {
+            if (Math.abs(diag[i - 1]) < 1e-300) {
+                return false;
+            }
+            double factor = sub[i] / diag[i - 1];
+            diag[i] -= factor * sup[i - 1];
+            rhs[i] -= factor * rhs[i - 1];
+        }
+        if (Math.abs(diag[n - 1]) < 1e-300) {
+            return false;
+        }
+        rhs[n - 1] /= diag[n - 1];
+        for (int i = n - 2; i >= 0; i--) {
+            rhs[i] = (rhs[i] - sup[i] * rhs[i + 1]) / diag[i];
+        }
+        for (double value : rhs) {
+            if (!Double.isFinite(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Производные на концах по параболе через три крайние точки
+    private static double estimateStartSlope(double[] h, double[] slopes) {
+        if (h.length < 2) return slopes[0];
+        return slopes[0] - h[0] * (slopes[1] - slopes[0]) / (h[0] + h[1]);
+    }
+
+    private static double estimateEndSlope(double[] h, double[] slopes) {
+        int last = h.length - 1;
+        if (last < 1) return slopes[0];
+        return slopes[last] + h[last] * (slopes[last] - slopes[last - 1]) / (h[last - 1] + h[last]);
+    }
+
+    public double evaluate(double x) {
+        if (!valid || Double.isNaN(x)) return Double.NaN;
+        return evaluateOn(interval(x), x);
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        if (!valid) {
+            Arrays.fill(out, 0, xs.length, Double.NaN);
+            return;
+        }
+
+        int[] intervals = new int[xs.length];
+        boolean sorted = true;
+        for (int k = 1; k < xs.length && sorted; k++) {
+            sorted = xs[k - 1] <= xs[k];
+        }
+        if (sorted) {
+            // Отсортированные аргументы: отрезок только сдвигается вправо, поиск не нужен
+            int last = xValues.length - 2;
+            int i = 0;
+            for (int k = 0; k < xs.length; k++) {
+                while (i < last && xs[k] >= xValues[i + 1]) {
+                    i++;
+                }
+                intervals[k] = i;
+            }
+        } else {
+            for (int k = 0; k < xs.length; k++) {
+                intervals[k] = Double.isNaN(xs[k]) ? 0 : interval(xs[k]);
+            }
+        }
+        BatchKernels.cubic(xValues, a, b, c, d, intervals, xs, out);
+    }
+
+    private int interval(double x) {
+        int last = xValues.length - 2;
+        if (x < xValues[1]) return 0;
+        if (x >= xValues[last]) return last;
+
+        int found = Arrays.binarySearch(xValues, x);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    private double evaluateOn(int i, double x) {
+        double t = x - xValues[i];
+        double result = a[i] + t * (b[i] + t * (c[i] + t * d[i]));
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public SplineBoundary getBoundary() {
+        return boundary;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int size() {
+        return xValues.length;
+    }
+}
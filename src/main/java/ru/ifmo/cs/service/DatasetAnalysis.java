@@ -0,0 +1,142 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.FiniteDifferenceTable;
+import ru.ifmo.cs.model.InterpolationMethod;
+import ru.ifmo.cs.model.PointSet;
+
+public class DatasetAnalysis {
+    private final PointSet points;
+    private final double[] xValues;
+    private final double[] yValues;
+    private final boolean finite;
+
+    // Строятся при первом обращении и переиспользуются для всех x, в том числе из разных потоков
+    private volatile FiniteDifferenceTable finiteDifferences;
+    private volatile CentralDifferenceInterpolant centralDifferences;
+    private volatile NewtonInterpolant dividedDifferences;
+    private volatile BarycentricLagrangeInterpolant lagrange;
+
+    public DatasetAnalysis(PointSet points) {
+        this.points = points;
+        this.xValues = points.getXs();
+        this.yValues = points.getYs();
+
+        boolean allFinite = true;
+        for (int i = 0; i < xValues.length && allFinite; i++) {
+            allFinite = Double.isFinite(xValues[i]) && Double.isFinite(yValues[i]);
+        }
+        this.finite = allFinite;
+    }
+
+    public PointSet getPoints() {
+        return points;
+    }
+
+    public int size() {
+        return xValues.length;
+    }
+
+    public boolean isUniform() {
+        return points.isEquallySpaced();
+    }
+
+    public double getStep() {
+        return points.getStep();
+    }
+
+    public double getMaxSpacingDeviation() {
+        return points.getMaxSpacingDeviation();
+    }
+
+    public boolean isFinite() {
+        return finite;
+    }
+
+    public InterpolationMethod algorithmFor(InterpolationMethod method, double x) {
+        switch (method) {
+            case NEWTON_FINITE:
+                if (size() >= 2 && (!isUniform() || isFarOutside(x))) {
+                    return InterpolationMethod.NEWTON_DIVIDED;
+                }
+                return method;
+            case STIRLING:
+            case BESSEL:
+                if (size() == 2) {
+                    return InterpolationMethod.NEWTON_DIVIDED;
+                }
+                if (size() > 2 && finite && (!isUniform() || isFarOutside(x))) {
+                    return InterpolationMethod.NEWTON_DIVIDED;
+                }
+                return method;
+            default:
+                return method;
+        }
+    }
+
+    public FiniteDifferenceTable getFiniteDifferenceTable() {
+        FiniteDifferenceTable table = finiteDifferences;
+        if (table == null) {
+            synchronized (this) {
+                if (finiteDifferences == null) {
+                    finiteDifferences = new FiniteDifferenceTable(yValues);
+                }
+                table = finiteDifferences;
+            }
+        }
+        return table;
+    }
+
+    CentralDifferenceInterpolant centralDifferences() {
+        CentralDifferenceInterpolant interpolant = centralDifferences;
+        if (interpolant == null) {
+            synchronized (this) {
+                if (centralDifferences == null) {
+                    centralDifferences = new CentralDifferenceInterpolant(xValues, getFiniteDifferenceTable());
+                }
+                interpolant = centralDifferences;
+            }
+        }
+        return interpolant;
+    }
+
+    NewtonInterpolant dividedDifferences() {
+        NewtonInterpolant interpolant = dividedDifferences;
+        if (interpolant == null) {
+            synchronized (this) {
+                if (dividedDifferences == null) {
+                    dividedDifferences = new NewtonInterpolant(xValues, yValues);
+                }
+                interpolant = dividedDifferences;
+            }
+        }
+        return interpolant;
+    }
+
+    BarycentricLagrangeInterpolant lagrange() {
+        BarycentricLagrangeInterpolant interpolant = lagrange;
+        if (interpolant == null) {
+            synchronized (this) {
+                if (lagrange == null) {
+                    lagrange = new BarycentricLagrangeInterpolant(xValues, yValues);
+                }
+                interpolant = lagrange;
+            }
+        }
+        return interpolant;
+    }
+
+    double[] xValues() {
+        return xValues;
+    }
+
+    double[] yValues() {
+        return yValues;
+    }
+
+    boolean isFarOutside(double x) {
+        double minX = xValues[0];
+        double maxX = xValues[xValues.length - 1];
+        double range = maxX - minX;
+        return x < minX - range * 10 || x > maxX + range * 10;
+    }
+}
@@ -0,0 +1,121 @@
+package ru.ifmo.cs.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+// Число как невычисленная сумма hi + lo двух double, |lo| <= ulp(hi)/2: около 32 значащих цифр.
+// Ошибки округления сложения и умножения вычисляются точно (two-sum, fma) и переносятся в lo.
+public final class DoubleDouble {
+    public static final DoubleDouble ZERO = new DoubleDouble(0.0, 0.0);
+    public static final DoubleDouble ONE = new DoubleDouble(1.0, 0.0);
+    public static final DoubleDouble NaN = new DoubleDouble(Double.NaN, Double.NaN);
+
+    private final double hi;
+    private final double lo;
+
+    private DoubleDouble(double hi, double lo) {
+        this.hi = hi;
+        this.lo = lo;
+    }
+
+    public static DoubleDouble of(double value) {
+        return new DoubleDouble(value, 0.0);
+    }
+
+    // Точная разность двух double
+    public static DoubleDouble difference(double a, double b) {
+        double s = a - b;
+        double bb = s - a;
+        double error = (a - (s - bb)) - (b + bb);
+        return new DoubleDouble(s, error);
+    }
+
+    public DoubleDouble add(DoubleDouble other) {
+        double s = hi + other.hi;
+        double bb = s - hi;
+        double e = (hi - (s - bb)) + (other.hi - bb);
+        double t = lo + other.lo;
+        double tt = t - lo;
+        double f = (lo - (t - tt)) + (other.lo - tt);
+        e += t;
+        double s1 = s + e;
+        e = e - (s1 - s);
+        e += f;
+        return normalize(s1, e);
+    }
+
+    public DoubleDouble add(double other) {
+        double s = hi + other;
+        double bb = s - hi;
+        double e = (hi - (s - bb)) + (other - bb);
+        return normalize(s, e + lo);
+    }
+
+    public DoubleDouble subtract(DoubleDouble other) {
+        return add(other.negate());
+    }
+
+    public DoubleDouble negate() {
+        return new DoubleDouble(-hi, -lo);
+    }
+
+    public DoubleDouble multiply(DoubleDouble other) {
+        double p = hi * other.hi;
+        double e = Math.fma(hi, other.hi, -p);
+        e += hi * other.lo + lo * other.hi;
+        return normalize(p, e);
+    }
+
+    public DoubleDouble multiply(double other) {
+        double p = hi * other;
+        double e = Math.fma(hi, other, -p);
+        e += lo * other;
+        return normalize(p, e);
+    }
+
+    // Деление длинным способом: три частных с уточнением остатка
+    public DoubleDouble divide(DoubleDouble other) {
+        double q1 = hi / other.hi;
+        DoubleDouble remainder = subtract(other.multiply(q1));
+        double q2 = remainder.hi / other.hi;
+        remainder = remainder.subtract(other.multiply(q2));
+        double q3 = remainder.hi / other.hi;
+        return normalize(q1, q2).add(q3);
+    }
+
+    private static DoubleDouble normalize(double s, double e) {
+        double hi = s + e;
+        if (!Double.isFinite(hi)) {
+            return new DoubleDouble(hi, 0.0);
+        }
+        return new DoubleDouble(hi, e - (hi - s));
+    }
+
+    public double doubleValue() {
+        return hi + lo;
+    }
+
+    public double getHigh() {
+        return hi;
+    }
+
+    public double getLow() {
+        return lo;
+    }
+
+    public boolean isFinite() {
+        return Double.isFinite(hi) && Double.isFinite(lo);
+    }
+
+    public BigDecimal toBigDecimal() {
+        if (!isFinite()) {
+            throw new ArithmeticException("Значение не является конечным числом: " + hi);
+        }
+        return new BigDecimal(hi).add(new BigDecimal(lo));
+    }
+
+    @Override
+    public String toString() {
+        return isFinite() ? toBigDecimal().round(new MathContext(32)).toString() : Double.toString(hi);
+    }
+}
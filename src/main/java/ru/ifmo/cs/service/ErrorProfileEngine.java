@@ -0,0 +1,56 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.BatchInterpolationResult;
+import ru.ifmo.cs.model.ErrorProfile;
+import ru.ifmo.cs.model.ErrorStatistics;
+import ru.ifmo.cs.model.InterpolationMethod;
+import ru.ifmo.cs.model.PointSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
+
+// Погрешность всех методов относительно исходной функции на равномерной сетке отрезка.
+// Значения методов считаются параллельным исполнителем по подготовленным моделям, функция — один раз на всю сетку.
+public class ErrorProfileEngine {
+    private final InterpolationService service;
+    private final ParallelInterpolationExecutor executor;
+
+    public ErrorProfileEngine(InterpolationService service) {
+        this(service, ForkJoinPool.commonPool());
+    }
+
+    public ErrorProfileEngine(InterpolationService service, ForkJoinPool pool) {
+        this.service = service;
+        this.executor = new ParallelInterpolationExecutor(service, pool);
+    }
+
+    public ErrorProfile profile(PointSet points, Set<InterpolationMethod> methods, DoubleUnaryOperator function,
+                                double start, double end, int samples) {
+        return profile(service.analyze(points), methods, function, start, end, samples);
+    }
+
+    public ErrorProfile profile(DatasetAnalysis analysis, Set<InterpolationMethod> methods,
+                                DoubleUnaryOperator function, double start, double end, int samples) {
+        if (!(start <= end)) {
+            throw new IllegalArgumentException("Начало интервала должно быть не больше конца");
+        }
+        if (samples < 2) {
+            throw new IllegalArgumentException("Минимум 2 точки сетки требуется");
+        }
+
+        double[] xs = new double[samples];
+        double[] expected = new double[samples];
+        double step = (end - start) / (samples - 1);
+        for (int k = 0; k < samples; k++) {
+            xs[k] = k == samples - 1 ? end : start + k * step;
+            expected[k] = function.applyAsDouble(xs[k]);
+        }
+
+        BatchInterpolationResult values = executor.evaluate(analysis, methods, xs);
+        ErrorProfile profile = new ErrorProfile(start, end, samples);
+        for (InterpolationMethod method : values.getMethods()) {
+            profile.setStatistics(method, ErrorStatistics.of(xs, expected, values.getValues(method)));
+        }
+        return profile;
+    }
+}
@@ -0,0 +1,145 @@
+package ru.ifmo.cs.service;
+
+// Формулы Лагранжа и Ньютона в арифметике double-double.
+// Разности x - x(j) вычисляются точно, слагаемые накапливаются с компенсацией,
+// поэтому при 20+ узлах теряются порядки только из-за обусловленности самой задачи, а не из-за округлений.
+public class ExtendedPrecisionInterpolation {
+
+    public DoubleDouble lagrange(double[] xValues, double[] yValues, double x) {
+        int n = xValues.length;
+        if (n < 2 || !allFinite(xValues) || !allFinite(yValues) || !Double.isFinite(x)) {
+            return DoubleDouble.NaN;
+        }
+
+        DoubleDouble result = DoubleDouble.ZERO;
+        for (int i = 0; i < n; i++) {
+            DoubleDouble term = DoubleDouble.of(yValues[i]);
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    double denominator = xValues[i] - xValues[j];
+                    if (Math.abs(denominator) < 1e-15) {
+                        return DoubleDouble.NaN;
+                    }
+                    term = term.multiply(DoubleDouble.difference(x, xValues[j]))
+                               .divide(DoubleDouble.difference(xValues[i], xValues[j]));
+                }
+            }
+            result = result.add(term);
+        }
+
+        return result.isFinite() ? result : DoubleDouble.NaN;
+    }
+
+    // Барицентрические веса с общим множителем 4/(b-a), как в BarycentricLagrangeInterpolant; null для вырожденных данных
+    DoubleDouble[] barycentricWeights(double[] xValues, double[] yValues) {
+        int n = xValues.length;
+        if (n < 2 || !allFinite(xValues) || !allFinite(yValues)) {
+            return null;
+        }
+
+        double minX = xValues[0];
+        double maxX = xValues[0];
+        for (double value : xValues) {
+            minX = Math.min(minX, value);
+            maxX = Math.max(maxX, value);
+        }
+        double scale = maxX > minX ? 4.0 / (maxX - minX) : 1.0;
+        if (!Double.isFinite(scale)) {
+            scale = 1.0;
+        }
+        DoubleDouble[] weights = new DoubleDouble[n];
+        for (int i = 0; i < n; i++) {
+            DoubleDouble product = DoubleDouble.ONE;
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    if (Math.abs(xValues[i] - xValues[j]) < 1e-15) {
+                        return null;
+                    }
+                    product = product.multiply(DoubleDouble.difference(xValues[i], xValues[j]).multiply(scale));
+                }
+            }
+            weights[i] = DoubleDouble.ONE.divide(product);
+            if (!weights[i].isFinite()) {
+                return null;
+            }
+        }
+        return weights;
+    }
+
+    // Вторая барицентрическая формула: O(n) на аргумент при готовых весах
+    DoubleDouble barycentric(double[] xValues, double[] yValues, DoubleDouble[] weights, double x) {
+        if (weights == null || !Double.isFinite(x)) {
+            return DoubleDouble.NaN;
+        }
+
+        DoubleDouble numerator = DoubleDouble.ZERO;
+        DoubleDouble denominator = DoubleDouble.ZERO;
+        for (int j = 0; j < xValues.length; j++) {
+            if (x == xValues[j]) {
+                return DoubleDouble.of(yValues[j]);
+            }
+            DoubleDouble term = weights[j].divide(DoubleDouble.difference(x, xValues[j]));
+            numerator = numerator.add(term.multiply(yValues[j]));
+            denominator = denominator.add(term);
+        }
+
+        DoubleDouble result = numerator.divide(denominator);
+        return result.isFinite() ? result : DoubleDouble.NaN;
+    }
+
+    public DoubleDouble dividedDifferences(double[] xValues, double[] yValues, double x) {
+        return newton(xValues, newtonCoefficients(xValues, yValues), x);
+    }
+
+    // Многочлен Ньютона по готовым коэффициентам; null означает вырожденные данные
+    DoubleDouble newton(double[] xValues, DoubleDouble[] coefficients, double x) {
+        if (coefficients == null || !Double.isFinite(x)) {
+            return DoubleDouble.NaN;
+        }
+        return horner(xValues, coefficients, x);
+    }
+
+    // Верхняя строка таблицы разделённых разностей, null для вырожденных данных
+    DoubleDouble[] newtonCoefficients(double[] xValues, double[] yValues) {
+        int n = xValues.length;
+        if (n < 2 || !allFinite(xValues) || !allFinite(yValues)) {
+            return null;
+        }
+
+        DoubleDouble[] coefficients = new DoubleDouble[n];
+        for (int i = 0; i < n; i++) {
+            coefficients[i] = DoubleDouble.of(yValues[i]);
+        }
+        for (int j = 1; j < n; j++) {
+            for (int i = n - 1; i >= j; i--) {
+                if (Math.abs(xValues[i] - xValues[i - j]) < 1e-15) {
+                    return null;
+                }
+                coefficients[i] = coefficients[i].subtract(coefficients[i - 1])
+                                                 .divide(DoubleDouble.difference(xValues[i], xValues[i - j]));
+                if (!coefficients[i].isFinite()) {
+                    return null;
+                }
+            }
+        }
+        return coefficients;
+    }
+
+    DoubleDouble horner(double[] xValues, DoubleDouble[] coefficients, double x) {
+        int n = coefficients.length;
+        DoubleDouble result = coefficients[n - 1];
+        for (int i = n - 2; i >= 0; i--) {
+            result = result.multiply(DoubleDouble.difference(x, xValues[i])).add(coefficients[i]);
+        }
+        return result.isFinite() ? result : DoubleDouble.NaN;
+    }
+
+    private static boolean allFinite(double[] values) {
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
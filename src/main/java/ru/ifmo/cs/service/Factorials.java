@@ -0,0 +1,62 @@
+package ru.ifmo.cs.service;
+
+import java.util.Arrays;
+
+// Общие таблицы 1/k и 1/k!, достраиваются по мере надобности.
+// Произведения t(t-1)...(t-k+1)/k! в формулах разностей накапливаются как q(k) = q(k-1)·(t-k+1)·(1/k):
+// так они не переполняются даже там, где сам k! уже не помещается в double.
+public final class Factorials {
+    private static volatile double[] reciprocals = {Double.NaN, 1.0};
+    private static volatile double[] reciprocalFactorials = {1.0, 1.0};
+
+    private Factorials() {
+    }
+
+    public static double reciprocal(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Обратное значение определено только для натуральных k: " + k);
+        }
+        double[] table = reciprocals;
+        if (k >= table.length) {
+            table = extend(k);
+        }
+        return table[k];
+    }
+
+    // Таблица 1/i для i <= k целиком, для горячих циклов; изменять её нельзя
+    static double[] reciprocalTable(int k) {
+        double[] table = reciprocals;
+        return k < table.length ? table : extend(k);
+    }
+
+    public static double reciprocalFactorial(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Факториал не определён для отрицательных k: " + k);
+        }
+        double[] table = reciprocalFactorials;
+        if (k >= table.length) {
+            extend(k);
+            table = reciprocalFactorials;
+        }
+        return table[k];
+    }
+
+    private static synchronized double[] extend(int k) {
+        double[] table = reciprocals;
+        if (k < table.length) {
+            return table;
+        }
+
+        int length = Math.max(k + 1, table.length * 2);
+        double[] inverse = Arrays.copyOf(table, length);
+        double[] inverseFactorial = Arrays.copyOf(reciprocalFactorials, length);
+        for (int i = table.length; i < length; i++) {
+            inverse[i] = 1.0 / i;
+            // После 170! значение уходит в ноль, как и положено в double
+            inverseFactorial[i] = inverseFactorial[i - 1] * inverse[i];
+        }
+        reciprocalFactorials = inverseFactorial;
+        reciprocals = inverse;
+        return inverse;
+    }
+}
@@ -1,102 +1,141 @@
 package ru.ifmo.cs.service;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import javafx.stage.FileChooser;
 import javafx.stage.Window;
 import ru.ifmo.cs.model.InterpolationPoint;
+import ru.ifmo.cs.model.PointLoadReport;
+import ru.ifmo.cs.model.PointSet;
 
 public class FileService {
+    private static final int READ_BUFFER_SIZE = 1 << 16;
     private static final FileChooser.ExtensionFilter TXT_FILTER =
             new FileChooser.ExtensionFilter("Text Files (*.txt)", "*.txt");
     private static final FileChooser.ExtensionFilter CSV_FILTER =
             new FileChooser.ExtensionFilter("CSV Files (*.csv)", "*.csv");
+    private static final FileChooser.ExtensionFilter BINARY_FILTER =
+            new FileChooser.ExtensionFilter("Binary Point Files (*.ipts)", "*.ipts");
     private static final FileChooser.ExtensionFilter ALL_FILTER =
             new FileChooser.ExtensionFilter("All Files", "*.*");
 
+    // Хранилище вне кучи можно отключить свойством -Dru.ifmo.cs.offheap=false: большие двоичные файлы
+    // тогда читаются в кучу
+    private static final boolean OFF_HEAP_SUPPORTED =
+            Boolean.parseBoolean(System.getProperty("ru.ifmo.cs.offheap", "true"));
+
+    private final ParallelPointLoader parallelLoader = new ParallelPointLoader();
+
+    public boolean isOffHeapStorageSupported() {
+        return OFF_HEAP_SUPPORTED;
+    }
+
     public File showOpenDialog(Window owner) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Открыть файл с данными");
-        fileChooser.getExtensionFilters().addAll(TXT_FILTER, CSV_FILTER, ALL_FILTER);
+        fileChooser.getExtensionFilters().addAll(TXT_FILTER, CSV_FILTER, BINARY_FILTER, ALL_FILTER);
         return fileChooser.showOpenDialog(owner);
     }
 
     public File showSaveDialog(Window owner) {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Сохранить данные");
-        fileChooser.getExtensionFilters().addAll(TXT_FILTER, CSV_FILTER, ALL_FILTER);
+        fileChooser.getExtensionFilters().addAll(TXT_FILTER, CSV_FILTER, BINARY_FILTER, ALL_FILTER);
         return fileChooser.showSaveDialog(owner);
     }
 
     public List<InterpolationPoint> loadInterpolationPoints(File file) throws IOException {
+        return loadInterpolationPoints(file, LoadMonitor.NONE);
+    }
+
+    // При отмене через monitor бросает CancellationException
+    public List<InterpolationPoint> loadInterpolationPoints(File file, LoadMonitor monitor) throws IOException {
         List<InterpolationPoint> points = new ArrayList<>();
-        int lineNumber = 0;
-        int validPoints = 0;
-        int invalidPoints = 0;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-
-                if (line.isEmpty() || line.startsWith("#") || line.startsWith("//")) {
-                    continue;
-                }
+        readPoints(file, (x, y) -> points.add(new InterpolationPoint(x, y)), monitor);
+        return points;
+    }
 
-                String[] parts = line.split("[,\\s]+");
-                if (parts.length >= 2) {
-                    try {
-                        String xStr = parts[0].trim().replace(',', '.');
-                        String yStr = parts[1].trim().replace(',', '.');
-
-                        double x, y;
-                        if (xStr.equalsIgnoreCase("NaN") || xStr.equalsIgnoreCase("nan")) {
-                            x = Double.NaN;
-                        } else if (xStr.equalsIgnoreCase("Infinity") || xStr.equalsIgnoreCase("Inf")) {
-                            x = Double.POSITIVE_INFINITY;
-                        } else if (xStr.equalsIgnoreCase("-Infinity") || xStr.equalsIgnoreCase("-Inf")) {
-                            x = Double.NEGATIVE_INFINITY;
-                        } else {
-                            x = Double.parseDouble(xStr);
-                        }
-
-                        if (yStr.equalsIgnoreCase("NaN") || yStr.equalsIgnoreCase("nan")) {
-                            y = Double.NaN;
-                        } else if (yStr.equalsIgnoreCase("Infinity") || yStr.equalsIgnoreCase("Inf")) {
-                            y = Double.POSITIVE_INFINITY;
-                        } else if (yStr.equalsIgnoreCase("-Infinity") || yStr.equalsIgnoreCase("-Inf")) {
-                            y = Double.NEGATIVE_INFINITY;
-                        } else {
-                            y = Double.parseDouble(yStr);
-                        }
-
-                        points.add(new InterpolationPoint(x, y));
-                        if (Double.isFinite(x) && Double.isFinite(y)) {
-                            validPoints++;
-                        } else {
-                            invalidPoints++;
-                        }
-                    } catch (NumberFormatException e) {
-                        System.err.println("Ошибка формата данных в строке " + lineNumber + ": " + line);
-                        invalidPoints++;
-                    }
-                } else {
-                    System.err.println("Недостаточно данных в строке " + lineNumber + ": " + line);
-                    invalidPoints++;
+    public PointSet loadPointSet(File file) throws IOException {
+        PointColumns columns = new PointColumns();
+        readPoints(file, columns, LoadMonitor.NONE);
+        columns.sortByX();
+        return columns.toPointSet();
+    }
+
+    // Для больших файлов: отображение в память и параллельный разбор кусков с отчётом о загрузке
+    public PointLoadReport loadLargePointSet(File file) throws IOException {
+        return loadLargePointSet(file, LoadMonitor.NONE);
+    }
+
+    public PointLoadReport loadLargePointSet(File file, LoadMonitor monitor) throws IOException {
+        PointLoadReport report = parallelLoader.load(file, monitor);
+        System.out.println("Загружено точек: " + report.getLoadedPoints() + " (валидных: " + report.getValidPoints()
+                + ", некорректных: " + report.getInvalidPoints() + ")");
+        return report;
+    }
+
+    private void readPoints(File file, PointFileParser.PointConsumer consumer, LoadMonitor monitor)
+            throws IOException {
+        PointFileParser parser = new PointFileParser(consumer);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            while (true) {
+                if (monitor.isCancelled()) {
+                    throw new CancellationException("Загрузка отменена");
+                }
+                boolean endOfInput = channel.read(buffer) < 0;
+                monitor.progress(channel.position(), size);
+                buffer.flip();
+                parser.parse(buffer, endOfInput);
+                if (endOfInput) {
+                    break;
+                }
+                buffer.compact();
+                if (!buffer.hasRemaining()) {
+                    // Строка длиннее буфера
+                    buffer.flip();
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
                 }
             }
         }
 
-        System.out.println("Загружено точек: " + points.size() + " (валидных: " + validPoints + ", некорректных: " + invalidPoints + ")");
-        return points;
+        System.out.println("Загружено точек: " + parser.getLoadedPoints() + " (валидных: " + parser.getValidPoints()
+                + ", некорректных: " + parser.getInvalidPoints() + ")");
+    }
+
+    public boolean isBinaryPointFile(File file) throws IOException {
+        return BinaryPointFile.isBinaryPointFile(file);
+    }
+
+    public void saveBinaryPointSet(PointSet points, File file) throws IOException {
+        BinaryPointFile.write(points, file);
+    }
+
+    public PointSet loadBinaryPointSet(File file) throws IOException {
+        return BinaryPointFile.map(file).toPointSet();
+    }
+
+    // Доступ к точкам прямо в отображённом файле, без копирования в кучу
+    public BinaryPointFile mapBinaryPointSet(File file) throws IOException {
+        return BinaryPointFile.map(file);
+    }
+
+    // Двоичный файл любого размера в памяти вне кучи; хранилище нужно закрыть после использования
+    public OffHeapPointStorage openOffHeapPointStorage(File file) throws IOException {
+        if (!OFF_HEAP_SUPPORTED) {
+            throw new IOException("Хранилище вне кучи отключено свойством ru.ifmo.cs.offheap");
+        }
+        return OffHeapPointStorage.map(file);
     }
 
     public void saveInterpolationPoints(List<InterpolationPoint> points, File file) throws IOException {
@@ -106,4 +145,12 @@ public class FileService {
             }
         }
     }
-}
\ No newline at end of file
+
+    public void savePointSet(PointSet points, File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            for (int i = 0; i < points.size(); i++) {
+                writer.printf("%.6f, %.6f%n", points.getX(i), points.getY(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.InterpolationPoint;
+import ru.ifmo.cs.model.PointSet;
+import java.util.Arrays;
+import java.util.List;
+
+// Рациональная интерполяция Флоатера–Хорманна: смесь многочленов степени d по соседним d+1 узлам.
+// Не имеет полюсов на вещественной оси и устойчива на равномерных сетках любого размера.
+// Вычисляется по барицентрической формуле, как и Лагранж, но с другими весами.
+public class FloaterHormannInterpolant {
+    private final double[] xValues;
+    private final double[] yValues;
+    private final double[] weights;
+    private final int degree;
+    private final boolean valid;
+
+    public FloaterHormannInterpolant(double[] xValues, double[] yValues, int degree) {
+        this(PointSet.of(xValues, yValues), degree);
+    }
+
+    public FloaterHormannInterpolant(PointSet points, int degree) {
+        if (degree < 0) {
+            throw new IllegalArgumentException("Степень смешивания не может быть отрицательной: " + degree);
+        }
+        this.xValues = points.getXs();
+        this.yValues = points.getYs();
+        this.weights = new double[xValues.length];
+        // При d >= n-1 получается обычный интерполяционный многочлен
+        this.degree = Math.min(degree, Math.max(xValues.length - 1, 0));
+        this.valid = xValues.length >= 2 && computeWeights(points.isEquallySpaced());
+    }
+
+    public static FloaterHormannInterpolant of(List<InterpolationPoint> points, int degree) {
+        return new FloaterHormannInterpolant(PointSet.of(points), degree);
+    }
+
+    private boolean computeWeights(boolean equallySpaced) {
+        int n = xValues.length;
+        for (int i = 0; i < n; i++) {
+            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
+                return false;
+            }
+            if (i > 0 && xValues[i] - xValues[i - 1] < 1e-15) {
+                return false;
+            }
+        }
+
+        if (equallySpaced) {
+            // На равномерной сетке |w(k)| = сумма биномиальных коэффициентов C(d, k-i) по окнам i, содержащим k: O(n·d)
+            double[] binomials = binomialRow(degree);
+            for (int k = 0; k < n; k++) {
+                double sum = 0.0;
+                for (int i = Math.max(0, k - degree); i <= Math.min(k, n - 1 - degree); i++) {
+                    sum += binomials[k - i];
+                }
+                weights[k] = sum;
+            }
+        } else {
+            // Общий случай: |w(k)| = сумма по окнам i произведений 1/|x(k) - x(j)|, j из окна, j != k
+            double scale = (n - 1) / (xValues[n - 1] - xValues[0]);
+            for (int i = 0; i + degree < n; i++) {
+                for (int k = i; k <= i + degree; k++) {
+                    double product = 1.0;
+                    for (int j = i; j <= i + degree; j++) {
+                        if (j != k) {
+                            product *= Math.abs(xValues[k] - xValues[j]) * scale;
+                        }
+                    }
+                    weights[k] += 1.0 / product;
+                }
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            if ((k - degree) % 2 != 0) {
+                weights[k] = -weights[k];
+            }
+            if (!Double.isFinite(weights[k])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[] binomialRow(int d) {
+        double[] row = new double[d + 1];
+        row[0] = 1.0;
+        for (int m = 1; m <= d; m++) {
+            row[m] = row[m - 1] * (d - m + 1) / m;
+        }
+        return row;
+    }
+
+    public double evaluate(double x) {
+        if (!valid) return Double.NaN;
+
+        double numerator = 0.0;
+        double denominator = 0.0;
+        for (int j = 0; j < xValues.length; j++) {
+            double difference = x - xValues[j];
+            if (difference == 0.0) {
+                return yValues[j];
+            }
+            double term = weights[j] / difference;
+            numerator += term * yValues[j];
+            denominator += term;
+        }
+
+        double result = numerator / denominator;
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        if (!valid) {
+            Arrays.fill(out, 0, xs.length, Double.NaN);
+            return;
+        }
+
+        BatchKernels.barycentric(xValues, yValues, weights, xs, out);
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    public int size() {
+        return xValues.length;
+    }
+}
@@ -1,345 +1,592 @@
 package ru.ifmo.cs.service;
 
+import ru.ifmo.cs.model.CrossValidationResult;
+import ru.ifmo.cs.model.FiniteDifferenceTable;
+import ru.ifmo.cs.model.InterpolationMethod;
 import ru.ifmo.cs.model.InterpolationPoint;
+import ru.ifmo.cs.model.PointSet;
+import ru.ifmo.cs.model.Precision;
+import ru.ifmo.cs.model.SplineBoundary;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.DoubleUnaryOperator;
 
 public class InterpolationService {
+    // Произведения в формулах Лагранжа и Ньютона нормализуются, только когда выходят из этой полосы
+    private static final double RESCALE_HIGH = 0x1p500;
+    private static final double RESCALE_LOW = 0x1p-500;
+
+    private final ExtendedPrecisionInterpolation extended = new ExtendedPrecisionInterpolation();
+    private final CrossValidation crossValidation = new CrossValidation();
+    // Лагранж и Ньютон с разделёнными разностями могут считаться в double-double: медленнее в разы, но без потери цифр
+    private volatile Precision precision = Precision.STANDARD;
+    // Разбор последнего набора: повторные вызовы по тому же PointSet не копируют столбцы и не строят таблицы заново
+    private volatile DatasetAnalysis lastAnalysis;
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(Precision precision) {
+        if (precision == null) {
+            throw new IllegalArgumentException("Точность не указана");
+        }
+        this.precision = precision;
+    }
+
+    public boolean isVectorKernelsEnabled() {
+        return BatchKernels.isVectorized();
+    }
+
+    public DatasetAnalysis analyze(List<InterpolationPoint> points) {
+        return new DatasetAnalysis(PointSet.of(points));
+    }
+
+    public DatasetAnalysis analyze(PointSet points) {
+        DatasetAnalysis analysis = lastAnalysis;
+        if (analysis == null || analysis.getPoints() != points) {
+            analysis = new DatasetAnalysis(points);
+            lastAnalysis = analysis;
+        }
+        return analysis;
+    }
 
     public double lagrangeInterpolation(List<InterpolationPoint> points, double x) {
-        int n = points.size();
+        return lagrangeValue(xValues(points), yValues(points), x);
+    }
+
+    public double lagrangeInterpolation(PointSet points, double x) {
+        return lagrangeInterpolation(analyze(points), x);
+    }
+
+    public double lagrangeInterpolation(DatasetAnalysis analysis, double x) {
+        return lagrangeValue(analysis.xValues(), analysis.yValues(), x);
+    }
+
+    public void lagrangeInterpolation(List<InterpolationPoint> points, double[] xs, double[] out) {
+        lagrangeInterpolation(PointSet.of(points), xs, out);
+    }
+
+    public void lagrangeInterpolation(PointSet points, double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        if (precision == Precision.EXTENDED) {
+            DoubleUnaryOperator model = prepareExtendedLagrange(analyze(points));
+            for (int k = 0; k < xs.length; k++) {
+                out[k] = model.applyAsDouble(xs[k]);
+            }
+            return;
+        }
+        prepareLagrange(points).evaluate(xs, out);
+    }
+
+    // Модели повышенной точности для пакетов: веса или коэффициенты считаются один раз, затем O(n) на аргумент
+    DoubleUnaryOperator prepareExtendedLagrange(DatasetAnalysis analysis) {
+        double[] xValues = analysis.xValues();
+        double[] yValues = analysis.yValues();
+        DoubleDouble[] weights = extended.barycentricWeights(xValues, yValues);
+        return x -> extended.barycentric(xValues, yValues, weights, x).doubleValue();
+    }
+
+    DoubleUnaryOperator prepareExtendedNewton(DatasetAnalysis analysis) {
+        double[] xValues = analysis.xValues();
+        DoubleDouble[] coefficients = extended.newtonCoefficients(xValues, analysis.yValues());
+        return x -> extended.newton(xValues, coefficients, x).doubleValue();
+    }
+
+    public BarycentricLagrangeInterpolant prepareLagrange(List<InterpolationPoint> points) {
+        return BarycentricLagrangeInterpolant.of(points);
+    }
+
+    public BarycentricLagrangeInterpolant prepareLagrange(PointSet points) {
+        return new BarycentricLagrangeInterpolant(points.getXs(), points.getYs());
+    }
+
+    private double lagrangeValue(double[] xValues, double[] yValues, double x) {
+        int n = xValues.length;
         if (n < 2) return Double.NaN;
+        if (precision == Precision.EXTENDED) {
+            return extended.lagrange(xValues, yValues, x).doubleValue();
+        }
 
+        // Произведение хранится как мантисса и отдельный двоичный порядок. Порядок выносится, только когда
+        // мантисса уходит из полосы [2^-500, 2^500]: умножение на степень двойки точно, поэтому в обычном
+        // диапазоне результат совпадает с эталоном, а промежуточные значения не переполняются.
+        // Конечность и совпадение узлов проверяются один раз в конце.
+        boolean degenerate = false;
         double result = 0.0;
-
         for (int i = 0; i < n; i++) {
-            double term = points.get(i).getY();
-            if (!Double.isFinite(term)) {
-                return Double.NaN;
+            double xi = xValues[i];
+            double mantissa = yValues[i];
+            int exponent = 0;
+            if (outsideRescaleBand(mantissa)) {
+                exponent = Math.getExponent(mantissa);
+                mantissa = Math.scalb(mantissa, -exponent);
             }
-
             for (int j = 0; j < n; j++) {
-                if (i != j) {
-                    double denominator = points.get(i).getX() - points.get(j).getX();
-                    if (Math.abs(denominator) < 1e-15) {
-                        return Double.NaN;
-                    }
-                    term *= (x - points.get(j).getX()) / denominator;
-                    if (!Double.isFinite(term)) {
-                        return Double.NaN;
-                    }
+                if (j == i) {
+                    continue;
+                }
+                double denominator = xi - xValues[j];
+                degenerate |= Math.abs(denominator) < 1e-15;
+                mantissa *= (x - xValues[j]) / denominator;
+                if (outsideRescaleBand(mantissa)) {
+                    int shift = Math.getExponent(mantissa);
+                    mantissa = Math.scalb(mantissa, -shift);
+                    exponent += shift;
                 }
             }
-            result += term;
-            if (!Double.isFinite(result)) {
-                return Double.NaN;
-            }
+            result += exponent == 0 ? mantissa : Math.scalb(mantissa, exponent);
         }
 
-        return result;
+        return !degenerate && Double.isFinite(result) ? result : Double.NaN;
     }
 
     public double newtonDividedDifferences(List<InterpolationPoint> points, double x) {
-        int n = points.size();
-        if (n < 2) return Double.NaN;
+        return dividedDifferencesValue(xValues(points), yValues(points), x);
+    }
 
-        double[] xValues = new double[n];
-        double[] yValues = new double[n];
+    public double newtonDividedDifferences(PointSet points, double x) {
+        DatasetAnalysis analysis = analyze(points);
+        return dividedDifferencesValue(analysis.xValues(), analysis.yValues(), x);
+    }
 
-        for (int i = 0; i < n; i++) {
-            xValues[i] = points.get(i).getX();
-            yValues[i] = points.get(i).getY();
-            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
-                return Double.NaN;
+    public double newtonDividedDifferences(DatasetAnalysis analysis, double x) {
+        if (precision == Precision.EXTENDED) {
+            return dividedDifferencesValue(analysis.xValues(), analysis.yValues(), x);
+        }
+        return analysis.dividedDifferences().evaluate(x);
+    }
+
+    public void newtonDividedDifferences(List<InterpolationPoint> points, double[] xs, double[] out) {
+        newtonDividedDifferences(PointSet.of(points), xs, out);
+    }
+
+    public void newtonDividedDifferences(PointSet points, double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        if (precision == Precision.EXTENDED) {
+            // Коэффициенты считаются один раз, затем схема Горнера для каждого аргумента
+            DoubleUnaryOperator model = prepareExtendedNewton(analyze(points));
+            for (int k = 0; k < xs.length; k++) {
+                out[k] = model.applyAsDouble(xs[k]);
             }
+            return;
         }
+        prepareNewton(points).evaluate(xs, out);
+    }
 
-        double[][] dividedDifferences = new double[n][n];
-        for (int i = 0; i < n; i++) {
-            dividedDifferences[i][0] = yValues[i];
+    public NewtonInterpolant prepareNewton(List<InterpolationPoint> points) {
+        return NewtonInterpolant.of(points);
+    }
+
+    public NewtonInterpolant prepareNewton(PointSet points) {
+        return new NewtonInterpolant(points.getXs(), points.getYs());
+    }
+
+    private double dividedDifferencesValue(double[] xValues, double[] yValues, double x) {
+        int n = xValues.length;
+        if (n < 2) return Double.NaN;
+        if (precision == Precision.EXTENDED) {
+            return extended.dividedDifferences(xValues, yValues, x).doubleValue();
         }
 
+        if (!allFinite(xValues) || !allFinite(yValues)) {
+            return Double.NaN;
+        }
+
+        // Верхняя строка таблицы на месте за O(n) памяти, операнды те же, что и в эталоне
+        double[] coefficients = yValues.clone();
+        boolean degenerate = false;
         for (int j = 1; j < n; j++) {
-            for (int i = 0; i < n - j; i++) {
-                double denominator = xValues[i + j] - xValues[i];
-                if (Math.abs(denominator) < 1e-15) {
-                    return Double.NaN;
-                }
-                dividedDifferences[i][j] = (dividedDifferences[i + 1][j - 1] - dividedDifferences[i][j - 1])
-                                         / denominator;
-                if (!Double.isFinite(dividedDifferences[i][j])) {
-                    return Double.NaN;
-                }
+            for (int i = n - 1; i >= j; i--) {
+                double denominator = xValues[i] - xValues[i - j];
+                degenerate |= Math.abs(denominator) < 1e-15;
+                coefficients[i] = (coefficients[i] - coefficients[i - 1]) / denominator;
             }
         }
 
-        double result = dividedDifferences[0][0];
-        double term = 1.0;
-
+        double result = coefficients[0];
+        double mantissa = 1.0;
+        int exponent = 0;
         for (int i = 1; i < n; i++) {
-            term *= (x - xValues[i - 1]);
-            if (!Double.isFinite(term)) {
-                return Double.NaN;
-            }
-            result += dividedDifferences[0][i] * term;
-            if (!Double.isFinite(result)) {
-                return Double.NaN;
+            mantissa *= (x - xValues[i - 1]);
+            if (outsideRescaleBand(mantissa)) {
+                int shift = Math.getExponent(mantissa);
+                mantissa = Math.scalb(mantissa, -shift);
+                exponent += shift;
             }
+            double term = coefficients[i] * mantissa;
+            result += exponent == 0 ? term : Math.scalb(term, exponent);
         }
 
-        return result;
+        return !degenerate && Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    private static boolean outsideRescaleBand(double mantissa) {
+        double magnitude = Math.abs(mantissa);
+        return magnitude > RESCALE_HIGH || (magnitude < RESCALE_LOW && magnitude != 0.0);
     }
 
     public double newtonFiniteDifferences(List<InterpolationPoint> points, double x) {
-        int n = points.size();
-        if (n < 2) return Double.NaN;
+        double[] xValues = xValues(points);
+        return newtonForward(xValues, yValues(points), isEquallySpaced(xValues), null, x);
+    }
 
-        double[] xValues = new double[n];
-        double[] yValues = new double[n];
+    public double newtonFiniteDifferences(List<InterpolationPoint> points, FiniteDifferenceTable table, double x) {
+        checkTable(points.size(), table);
+        double[] xValues = xValues(points);
+        return newtonForward(xValues, yValues(points), isEquallySpaced(xValues), table, x);
+    }
 
-        for (int i = 0; i < n; i++) {
-            xValues[i] = points.get(i).getX();
-            yValues[i] = points.get(i).getY();
+    public double newtonFiniteDifferences(PointSet points, double x) {
+        return newtonFiniteDifferences(analyze(points), x);
+    }
+
+    public double newtonFiniteDifferences(PointSet points, FiniteDifferenceTable table, double x) {
+        checkTable(points.size(), table);
+        DatasetAnalysis analysis = analyze(points);
+        return newtonForward(analysis.xValues(), analysis.yValues(), points.isEquallySpaced(), table, x);
+    }
+
+    public void newtonFiniteDifferences(List<InterpolationPoint> points, double[] xs, double[] out) {
+        newtonFiniteDifferences(analyze(points), xs, out);
+    }
+
+    public void newtonFiniteDifferences(PointSet points, double[] xs, double[] out) {
+        newtonFiniteDifferences(analyze(points), xs, out);
+    }
+
+    public double newtonFiniteDifferences(DatasetAnalysis analysis, double x) {
+        if (analysis.size() < 2) return Double.NaN;
+
+        if (analysis.algorithmFor(InterpolationMethod.NEWTON_FINITE, x) == InterpolationMethod.NEWTON_DIVIDED) {
+            return analysis.dividedDifferences().evaluate(x);
         }
+        return newtonForwardValue(analysis.xValues(), analysis.getFiniteDifferenceTable(), x);
+    }
 
-        double h = xValues[1] - xValues[0];
-        double tolerance = 1e-10;
-        for (int i = 2; i < n; i++) {
-            if (Math.abs((xValues[i] - xValues[i-1]) - h) > tolerance) {
-                return newtonDividedDifferences(points, x);
-            }
+    public void newtonFiniteDifferences(DatasetAnalysis analysis, double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        newtonFiniteDifferences(analysis, xs, 0, xs.length, out);
+    }
+
+    void newtonFiniteDifferences(DatasetAnalysis analysis, double[] xs, int from, int to, double[] out) {
+        if (analysis.size() < 2) {
+            Arrays.fill(out, from, to, Double.NaN);
+            return;
         }
 
-        double minX = xValues[0];
-        double maxX = xValues[n-1];
-        double range = maxX - minX;
-        if (x < minX - range * 10 || x > maxX + range * 10) {
-            return newtonDividedDifferences(points, x);
+        for (int k = from; k < to; k++) {
+            out[k] = newtonFiniteDifferences(analysis, xs[k]);
         }
+    }
 
-        double[][] finiteDifferences = new double[n][n];
-        for (int i = 0; i < n; i++) {
-            finiteDifferences[i][0] = yValues[i];
+    private double newtonForward(double[] xValues, double[] yValues, boolean equallySpaced,
+                                 FiniteDifferenceTable table, double x) {
+        int n = xValues.length;
+        if (n < 2) return Double.NaN;
+
+        if (!equallySpaced || isFarOutside(xValues, x)) {
+            return dividedDifferencesValue(xValues, yValues, x);
         }
 
-        for (int j = 1; j < n; j++) {
-            for (int i = 0; i < n - j; i++) {
-                finiteDifferences[i][j] = finiteDifferences[i + 1][j - 1] - finiteDifferences[i][j - 1];
-            }
+        if (table == null) {
+            table = new FiniteDifferenceTable(yValues);
         }
+        return newtonForwardValue(xValues, table, x);
+    }
 
+    private double newtonForwardValue(double[] xValues, FiniteDifferenceTable table, double x) {
+        int n = xValues.length;
+        double h = xValues[1] - xValues[0];
         double t = (x - xValues[0]) / h;
 
-        double result = finiteDifferences[0][0];
+        // term = t(t-1)...(t-i+1)/i! накапливается без отдельного факториала
+        double[] reciprocals = Factorials.reciprocalTable(n);
+        double result = table.get(0, 0);
         double term = 1.0;
 
         for (int i = 1; i < n; i++) {
-            term *= (t - i + 1);
-            result += finiteDifferences[0][i] * term / factorial(i);
+            term *= (t - i + 1) * reciprocals[i];
+            result += table.get(0, i) * term;
         }
 
         return result;
     }
 
-    public double[][] calculateFiniteDifferencesTable(List<InterpolationPoint> points) {
-        int n = points.size();
-        double[][] table = new double[n][n];
+    public FiniteDifferenceTable buildFiniteDifferenceTable(List<InterpolationPoint> points) {
+        return new FiniteDifferenceTable(yValues(points));
+    }
 
-        for (int i = 0; i < n; i++) {
-            table[i][0] = points.get(i).getY();
-        }
+    public FiniteDifferenceTable buildFiniteDifferenceTable(PointSet points) {
+        return new FiniteDifferenceTable(points.getYs());
+    }
 
-        for (int j = 1; j < n; j++) {
-            for (int i = 0; i < n - j; i++) {
-                table[i][j] = table[i + 1][j - 1] - table[i][j - 1];
-            }
-        }
+    public double stirlingInterpolation(List<InterpolationPoint> points, double x) {
+        double[] xValues = xValues(points);
+        return centralDifferenceValue(xValues, yValues(points), isEquallySpaced(xValues), null, x, true);
+    }
 
-        return table;
+    public double stirlingInterpolation(List<InterpolationPoint> points, FiniteDifferenceTable table, double x) {
+        checkTable(points.size(), table);
+        double[] xValues = xValues(points);
+        return centralDifferenceValue(xValues, yValues(points), isEquallySpaced(xValues), table, x, true);
     }
 
-    public double stirlingInterpolation(List<InterpolationPoint> points, double x) {
-        int n = points.size();
-        if (n < 2) return Double.NaN;
+    public double stirlingInterpolation(PointSet points, double x) {
+        return centralDifferenceValue(analyze(points), x, true);
+    }
 
-        if (n < 3) {
-            return newtonDividedDifferences(points, x);
-        }
+    public double stirlingInterpolation(PointSet points, FiniteDifferenceTable table, double x) {
+        checkTable(points.size(), table);
+        DatasetAnalysis analysis = analyze(points);
+        return centralDifferenceValue(analysis.xValues(), analysis.yValues(), points.isEquallySpaced(), table, x, true);
+    }
 
-        double[] xValues = new double[n];
-        double[] yValues = new double[n];
+    public void stirlingInterpolation(List<InterpolationPoint> points, double[] xs, double[] out) {
+        centralDifferenceBatch(analyze(points), xs, out, true);
+    }
 
-        for (int i = 0; i < n; i++) {
-            xValues[i] = points.get(i).getX();
-            yValues[i] = points.get(i).getY();
-            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
-                return Double.NaN;
-            }
-        }
+    public void stirlingInterpolation(PointSet points, double[] xs, double[] out) {
+        centralDifferenceBatch(analyze(points), xs, out, true);
+    }
 
-        double h = xValues[1] - xValues[0];
-        double tolerance = 1e-10;
-        for (int i = 2; i < n; i++) {
-            if (Math.abs((xValues[i] - xValues[i-1]) - h) > tolerance) {
-                return newtonDividedDifferences(points, x);
-            }
+    public double stirlingInterpolation(DatasetAnalysis analysis, double x) {
+        return centralDifferenceValue(analysis, x, true);
+    }
+
+    public void stirlingInterpolation(DatasetAnalysis analysis, double[] xs, double[] out) {
+        centralDifferenceBatch(analysis, xs, out, true);
+    }
+
+    public double besselInterpolation(List<InterpolationPoint> points, double x) {
+        double[] xValues = xValues(points);
+        return centralDifferenceValue(xValues, yValues(points), isEquallySpaced(xValues), null, x, false);
+    }
+
+    public double besselInterpolation(List<InterpolationPoint> points, FiniteDifferenceTable table, double x) {
+        checkTable(points.size(), table);
+        double[] xValues = xValues(points);
+        return centralDifferenceValue(xValues, yValues(points), isEquallySpaced(xValues), table, x, false);
+    }
+
+    public double besselInterpolation(PointSet points, double x) {
+        return centralDifferenceValue(analyze(points), x, false);
+    }
+
+    public double besselInterpolation(PointSet points, FiniteDifferenceTable table, double x) {
+        checkTable(points.size(), table);
+        DatasetAnalysis analysis = analyze(points);
+        return centralDifferenceValue(analysis.xValues(), analysis.yValues(), points.isEquallySpaced(), table, x, false);
+    }
+
+    public void besselInterpolation(List<InterpolationPoint> points, double[] xs, double[] out) {
+        centralDifferenceBatch(analyze(points), xs, out, false);
+    }
+
+    public void besselInterpolation(PointSet points, double[] xs, double[] out) {
+        centralDifferenceBatch(analyze(points), xs, out, false);
+    }
+
+    public double besselInterpolation(DatasetAnalysis analysis, double x) {
+        return centralDifferenceValue(analysis, x, false);
+    }
+
+    public void besselInterpolation(DatasetAnalysis analysis, double[] xs, double[] out) {
+        centralDifferenceBatch(analysis, xs, out, false);
+    }
+
+    private double centralDifferenceValue(double[] xValues, double[] yValues, boolean equallySpaced,
+                                          FiniteDifferenceTable table, double x, boolean stirling) {
+        int n = xValues.length;
+        if (n < 2) return Double.NaN;
+
+        if (n < 3) {
+            return dividedDifferencesValue(xValues, yValues, x);
         }
 
-        double minX = xValues[0];
-        double maxX = xValues[n-1];
-        double range = maxX - minX;
-        if (x < minX - range * 10 || x > maxX + range * 10) {
-            return newtonDividedDifferences(points, x);
+        if (!allFinite(xValues) || !allFinite(yValues)) {
+            return Double.NaN;
         }
 
-        double[][] finiteDifferences = new double[n][n];
-        for (int i = 0; i < n; i++) {
-            finiteDifferences[i][0] = yValues[i];
+        if (!equallySpaced || isFarOutside(xValues, x)) {
+            return dividedDifferencesValue(xValues, yValues, x);
         }
 
-        for (int j = 1; j < n; j++) {
-            for (int i = 0; i < n - j; i++) {
-                finiteDifferences[i][j] = finiteDifferences[i + 1][j - 1] - finiteDifferences[i][j - 1];
-            }
+        if (table == null) {
+            table = new FiniteDifferenceTable(yValues);
         }
+        CentralDifferenceInterpolant centralDifferences = new CentralDifferenceInterpolant(xValues, table);
+        return stirling ? centralDifferences.stirling(x) : centralDifferences.bessel(x);
+    }
 
-        int center = n / 2;
-        double t = (x - xValues[center]) / h;
+    private double centralDifferenceValue(DatasetAnalysis analysis, double x, boolean stirling) {
+        if (analysis.size() < 2) return Double.NaN;
 
-        // Формула Стирлинга: P(x) = y₀ + t(Δy₋₁ + Δy₀)/2! + t²/2! Δ²y₋₁ + ...
-        double result = finiteDifferences[center][0];
-        
-        // Первый член: t(Δy₋₁ + Δy₀)/2!
-        if (center > 0 && center < n - 1) {
-            double delta1 = finiteDifferences[center - 1][1] + finiteDifferences[center][1];
-            result += t * delta1 / 2.0;
+        InterpolationMethod method = stirling ? InterpolationMethod.STIRLING : InterpolationMethod.BESSEL;
+        if (analysis.algorithmFor(method, x) == InterpolationMethod.NEWTON_DIVIDED) {
+            return analysis.dividedDifferences().evaluate(x);
         }
-        
-        // Второй член: t²/2! Δ²y₋₁
-        if (center > 0 && center < n - 2) {
-            result += (t * t / 2.0) * finiteDifferences[center - 1][2];
+        if (!analysis.isFinite()) {
+            return Double.NaN;
         }
-        
-        // Остальные члены для нечетных порядков
-        double term = t;
-        for (int i = 3; i < n; i += 2) {
-            if (center - (i+1)/2 >= 0 && center + (i-1)/2 < n) {
-                double delta = finiteDifferences[center - (i+1)/2][i] + finiteDifferences[center - (i-1)/2][i];
-                term *= (t * t - ((i-1)/2) * ((i-1)/2));
-                result += term * delta / (2.0 * factorial(i));
-            }
+
+        CentralDifferenceInterpolant centralDifferences = analysis.centralDifferences();
+        return stirling ? centralDifferences.stirling(x) : centralDifferences.bessel(x);
+    }
+
+    private void centralDifferenceBatch(DatasetAnalysis analysis, double[] xs, double[] out, boolean stirling) {
+        checkBatchArguments(xs, out);
+        centralDifferenceBatch(analysis, xs, 0, xs.length, out, stirling);
+    }
+
+    void centralDifferenceBatch(DatasetAnalysis analysis, double[] xs, int from, int to, double[] out,
+                                boolean stirling) {
+        if (analysis.size() < 2 || (analysis.size() > 2 && !analysis.isFinite())) {
+            Arrays.fill(out, from, to, Double.NaN);
+            return;
         }
-        
-        // Члены для четных порядков
-        term = t * t;
-        for (int i = 4; i < n; i += 2) {
-            if (center - i/2 >= 0 && center + i/2 < n) {
-                term *= (t * t - (i/2) * (i/2));
-                result += term * finiteDifferences[center - i/2][i] / factorial(i);
-            }
+
+        for (int k = from; k < to; k++) {
+            out[k] = centralDifferenceValue(analysis, xs[k], stirling);
         }
+    }
 
-        return result;
+    public PiecewiseInterpolant preparePiecewise(List<InterpolationPoint> points, InterpolationMethod method, int degree) {
+        return preparePiecewise(PointSet.of(points), method, degree);
     }
 
-    public double besselInterpolation(List<InterpolationPoint> points, double x) {
-        int n = points.size();
-        if (n < 2) return Double.NaN;
+    public PiecewiseInterpolant preparePiecewise(PointSet points, InterpolationMethod method, int degree) {
+        return preparePiecewise(analyze(points), method, degree);
+    }
 
-        if (n < 3) {
-            return newtonDividedDifferences(points, x);
-        }
+    public PiecewiseInterpolant preparePiecewise(DatasetAnalysis analysis, InterpolationMethod method, int degree) {
+        return new PiecewiseInterpolant(this, analysis, method, degree);
+    }
 
-        double[] xValues = new double[n];
-        double[] yValues = new double[n];
+    // Для наборов вне кучи: локальный многочлен Ньютона по узлам хранилища без копирования набора
+    public OffHeapPiecewiseInterpolant preparePiecewise(OffHeapPointStorage storage, int degree) {
+        return new OffHeapPiecewiseInterpolant(storage, degree);
+    }
 
-        for (int i = 0; i < n; i++) {
+    public double piecewiseInterpolation(PointSet points, InterpolationMethod method, int degree, double x) {
+        return preparePiecewise(points, method, degree).evaluate(x);
+    }
+
+    public void piecewiseInterpolation(PointSet points, InterpolationMethod method, int degree,
+                                       double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        preparePiecewise(points, method, degree).evaluate(xs, out);
+    }
+
+    public CubicSpline prepareSpline(List<InterpolationPoint> points, SplineBoundary boundary) {
+        return prepareSpline(PointSet.of(points), boundary);
+    }
+
+    public CubicSpline prepareSpline(PointSet points, SplineBoundary boundary) {
+        return new CubicSpline(points.getXs(), points.getYs(), boundary);
+    }
+
+    public double splineInterpolation(PointSet points, SplineBoundary boundary, double x) {
+        return prepareSpline(points, boundary).evaluate(x);
+    }
+
+    public void splineInterpolation(PointSet points, SplineBoundary boundary, double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        prepareSpline(points, boundary).evaluate(xs, out);
+    }
+
+    public ChebyshevInterpolant prepareChebyshev(PointSet points) {
+        return ChebyshevInterpolant.of(points);
+    }
+
+    public double chebyshevInterpolation(PointSet points, double x) {
+        return prepareChebyshev(points).evaluate(x);
+    }
+
+    public void chebyshevInterpolation(PointSet points, double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        prepareChebyshev(points).evaluate(xs, out);
+    }
+
+    public FloaterHormannInterpolant prepareFloaterHormann(List<InterpolationPoint> points, int degree) {
+        return FloaterHormannInterpolant.of(points, degree);
+    }
+
+    public FloaterHormannInterpolant prepareFloaterHormann(PointSet points, int degree) {
+        return new FloaterHormannInterpolant(points, degree);
+    }
+
+    public double floaterHormannInterpolation(PointSet points, int degree, double x) {
+        return prepareFloaterHormann(points, degree).evaluate(x);
+    }
+
+    public void floaterHormannInterpolation(PointSet points, int degree, double[] xs, double[] out) {
+        checkBatchArguments(xs, out);
+        prepareFloaterHormann(points, degree).evaluate(xs, out);
+    }
+
+    public CrossValidationResult crossValidate(List<InterpolationPoint> points) {
+        return crossValidate(PointSet.of(points));
+    }
+
+    public CrossValidationResult crossValidate(PointSet points) {
+        return crossValidation.leaveOneOut(points);
+    }
+
+    private double[] xValues(List<InterpolationPoint> points) {
+        double[] xValues = new double[points.size()];
+        for (int i = 0; i < xValues.length; i++) {
             xValues[i] = points.get(i).getX();
+        }
+        return xValues;
+    }
+
+    private double[] yValues(List<InterpolationPoint> points) {
+        double[] yValues = new double[points.size()];
+        for (int i = 0; i < yValues.length; i++) {
             yValues[i] = points.get(i).getY();
-            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
-                return Double.NaN;
+        }
+        return yValues;
+    }
+
+    private boolean allFinite(double[] values) {
+        for (double value : values) {
+            if (!Double.isFinite(value)) {
+                return false;
             }
         }
+        return true;
+    }
+
+    private boolean isEquallySpaced(double[] xValues) {
+        if (xValues.length < 2) return false;
 
         double h = xValues[1] - xValues[0];
         double tolerance = 1e-10;
-        for (int i = 2; i < n; i++) {
+        for (int i = 2; i < xValues.length; i++) {
             if (Math.abs((xValues[i] - xValues[i-1]) - h) > tolerance) {
-                return newtonDividedDifferences(points, x);
+                return false;
             }
         }
+        return true;
+    }
 
+    private boolean isFarOutside(double[] xValues, double x) {
         double minX = xValues[0];
-        double maxX = xValues[n-1];
+        double maxX = xValues[xValues.length - 1];
         double range = maxX - minX;
-        if (x < minX - range * 10 || x > maxX + range * 10) {
-            return newtonDividedDifferences(points, x);
-        }
-
-        double[][] finiteDifferences = new double[n][n];
-        for (int i = 0; i < n; i++) {
-            finiteDifferences[i][0] = yValues[i];
-        }
-
-        for (int j = 1; j < n; j++) {
-            for (int i = 0; i < n - j; i++) {
-                finiteDifferences[i][j] = finiteDifferences[i + 1][j - 1] - finiteDifferences[i][j - 1];
-            }
-        }
-
-        int center = n / 2;
-        double t = (x - xValues[center]) / h;
-
-        // Формула Бесселя: P(x) = (y₀ + y₁)/2 + (t-1/2)Δy₀ + t(t-1)/2! (Δ²y₋₁ + Δ²y₀)/2 + ...
-        double result;
-        if (center + 1 < n) {
-            result = (finiteDifferences[center][0] + finiteDifferences[center + 1][0]) / 2.0;
-        } else {
-            result = finiteDifferences[center][0];
-        }
+        return x < minX - range * 10 || x > maxX + range * 10;
+    }
 
-        // Первый член: (t-1/2)Δy₀
-        if (center < n - 1) {
-            result += (t - 0.5) * finiteDifferences[center][1];
-        }
-        
-        // Второй член: t(t-1)/2! (Δ²y₋₁ + Δ²y₀)/2
-        if (center > 0 && center < n - 1) {
-            double delta2 = finiteDifferences[center - 1][2] + finiteDifferences[center][2];
-            result += (t * (t - 1) / 2.0) * (delta2 / 2.0);
+    private void checkTable(int size, FiniteDifferenceTable table) {
+        if (table.size() != size) {
+            throw new IllegalArgumentException("Таблица разностей построена для другого набора точек");
         }
-        
-        // Третий член: (t-1/2)t(t-1)/3! Δ³y₋₁
-        if (center > 0 && center < n - 2) {
-            result += (t - 0.5) * t * (t - 1) * finiteDifferences[center - 1][3] / 6.0;
-        }
-        
-        // Четвертый член: t(t-1)(t+1)(t-2)/4! (Δ⁴y₋₂ + Δ⁴y₋₁)/2
-        if (center > 1 && center < n - 1) {
-            double delta4 = finiteDifferences[center - 2][4] + finiteDifferences[center - 1][4];
-            result += (t * (t - 1) * (t + 1) * (t - 2) / 24.0) * (delta4 / 2.0);
-        }
-        
-        // Пятый член: (t-1/2)t(t-1)(t+1)(t-2)/5! Δ⁵y₋₂
-        if (center > 1 && center < n - 2) {
-            result += (t - 0.5) * t * (t - 1) * (t + 1) * (t - 2) * finiteDifferences[center - 2][5] / 120.0;
-        }
-        
-        // Шестой член: t(t-1)(t+1)(t-2)(t+2)(t-3)/6! (Δ⁶y₋₃ + Δ⁶y₋₂)/2
-        if (center > 2 && center < n - 1) {
-            double delta6 = finiteDifferences[center - 3][6] + finiteDifferences[center - 2][6];
-            result += (t * (t - 1) * (t + 1) * (t - 2) * (t + 2) * (t - 3) / 720.0) * (delta6 / 2.0);
-        }
-
-        return result;
     }
 
-    private long factorial(int n) {
-        if (n < 0) return 0;
-        if (n <= 1) return 1;
-        long result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
+    private void checkBatchArguments(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
         }
-        return result;
     }
 }
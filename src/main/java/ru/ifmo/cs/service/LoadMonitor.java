@@ -0,0 +1,20 @@
+package ru.ifmo.cs.service;
+
+// Наблюдатель загрузки файла: получает число обработанных байт и может прервать загрузку.
+// Методы вызываются из потоков загрузки, в том числе из нескольких сразу при параллельном разборе.
+public interface LoadMonitor {
+    LoadMonitor NONE = new LoadMonitor() {
+        @Override
+        public void progress(long processedBytes, long totalBytes) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    void progress(long processedBytes, long totalBytes);
+
+    boolean isCancelled();
+}
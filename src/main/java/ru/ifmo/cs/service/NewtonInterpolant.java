@@ -0,0 +1,121 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.InterpolationPoint;
+import java.util.Arrays;
+import java.util.List;
+
+public class NewtonInterpolant {
+    private double[] xValues;
+    private double[] coefficients;
+    // Последняя диагональ таблицы: diagonal[j] = f[x(n-1-j), ..., x(n-1)]
+    private double[] diagonal;
+    private int size;
+    private boolean broken;
+
+    public NewtonInterpolant() {
+        this.xValues = new double[8];
+        this.coefficients = new double[8];
+        this.diagonal = new double[8];
+    }
+
+    public NewtonInterpolant(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы x и y должны иметь одинаковую длину");
+        }
+        int capacity = Math.max(8, xValues.length);
+        this.xValues = new double[capacity];
+        this.coefficients = new double[capacity];
+        this.diagonal = new double[capacity];
+        for (int i = 0; i < xValues.length; i++) {
+            addNode(xValues[i], yValues[i]);
+        }
+    }
+
+    public static NewtonInterpolant of(List<InterpolationPoint> points) {
+        int n = points.size();
+        double[] xValues = new double[n];
+        double[] yValues = new double[n];
+        for (int i = 0; i < n; i++) {
+            xValues[i] = points.get(i).getX();
+            yValues[i] = points.get(i).getY();
+        }
+        return new NewtonInterpolant(xValues, yValues);
+    }
+
+    public void addNode(double x, double y) {
+        if (size == xValues.length) {
+            int capacity = size * 2;
+            xValues = Arrays.copyOf(xValues, capacity);
+            coefficients = Arrays.copyOf(coefficients, capacity);
+            diagonal = Arrays.copyOf(diagonal, capacity);
+        }
+
+        int n = size;
+        xValues[n] = x;
+        size++;
+        if (broken) return;
+
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            broken = true;
+            return;
+        }
+
+        // Новая диагональ строится из старой за O(n): f[x(n-j), ..., x] = (f[x(n-j+1), ..., x] - f[x(n-j), ..., x(n-1)]) / (x - x(n-j))
+        double current = y;
+        for (int j = 1; j <= n; j++) {
+            double denominator = x - xValues[n - j];
+            if (Math.abs(denominator) < 1e-15) {
+                broken = true;
+                return;
+            }
+            double next = (current - diagonal[j - 1]) / denominator;
+            diagonal[j - 1] = current;
+            current = next;
+            if (!Double.isFinite(current)) {
+                broken = true;
+                return;
+            }
+        }
+        diagonal[n] = current;
+        coefficients[n] = current;
+    }
+
+    public double evaluate(double x) {
+        if (!isValid()) return Double.NaN;
+
+        double result = coefficients[size - 1];
+        for (int i = size - 2; i >= 0; i--) {
+            result = result * (x - xValues[i]) + coefficients[i];
+        }
+
+        return Double.isFinite(result) ? result : Double.NaN;
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        evaluate(xs, 0, xs.length, out);
+    }
+
+    void evaluate(double[] xs, int from, int to, double[] out) {
+        if (!isValid()) {
+            Arrays.fill(out, from, to, Double.NaN);
+            return;
+        }
+
+        BatchKernels.horner(xValues, coefficients, size, xs, from, to, out);
+    }
+
+    public boolean isValid() {
+        return size >= 2 && !broken;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double[] getCoefficients() {
+        return Arrays.copyOf(coefficients, size);
+    }
+}
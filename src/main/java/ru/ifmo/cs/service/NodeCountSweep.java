@@ -0,0 +1,172 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.NodeDistribution;
+import ru.ifmo.cs.model.NodeSweepResult;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleUnaryOperator;
+
+// Погрешность интерполяционного многочлена для 2..N узлов за один проход.
+// Узлы берутся из вложенной последовательности и добавляются в многочлен Ньютона по одному (O(N²) на все коэффициенты).
+// В каждой контрольной точке значение P(n+1) = P(n) + c(n)·Π(x - x(j)) наращивается по n за O(1),
+// поэтому весь перебор стоит O(N² + N·M) вместо N построений и O(N²·M) вычислений.
+public class NodeCountSweep {
+    private static final int CHUNK_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    public NodeCountSweep() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public NodeCountSweep(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public NodeSweepResult sweep(DoubleUnaryOperator function, double start, double end,
+                                 NodeDistribution distribution, int maxNodes, int samples) {
+        if (!(start < end) || !Double.isFinite(end - start)) {
+            throw new IllegalArgumentException("Начало интервала должно быть меньше конца");
+        }
+        if (maxNodes < 2) {
+            throw new IllegalArgumentException("Минимум 2 узла требуется");
+        }
+        if (samples < 1) {
+            throw new IllegalArgumentException("Нужна хотя бы одна контрольная точка");
+        }
+
+        // Работа идёт в переменной u = (x - m) / r из [-1, 1]: произведения Π(u - u(j)) не переполняются
+        double middle = (start + end) / 2.0;
+        double radius = (end - start) / 2.0;
+        NewtonInterpolant newton = new NewtonInterpolant();
+        double[] nodes = new double[maxNodes];
+        // Точки, где функция не определена, пропускаются, поэтому кандидатов берётся с запасом
+        double[] candidates = distribution.nestedNodes(start, end, 2 * maxNodes);
+        for (int i = 0; i < candidates.length && newton.size() < maxNodes; i++) {
+            double y = function.applyAsDouble(candidates[i]);
+            if (!Double.isFinite(y)) {
+                continue;
+            }
+            double u = (candidates[i] - middle) / radius;
+            nodes[newton.size()] = u;
+            newton.addNode(u, y);
+            if (newton.size() >= 2 && !newton.isValid()) {
+                break;
+            }
+        }
+        if (newton.size() < 2 || (newton.size() == 2 && !newton.isValid())) {
+            throw new IllegalArgumentException("Функция не определена в достаточном числе узлов");
+        }
+
+        // Если очередной коэффициент перестал быть конечным, перебор заканчивается на предыдущем числе узлов
+        int count = newton.isValid() ? newton.size() : newton.size() - 1;
+        double[] coefficients = Arrays.copyOf(newton.getCoefficients(), count);
+
+        double[] xs = new double[samples];
+        double[] expected = new double[samples];
+        for (int k = 0; k < samples; k++) {
+            double fraction = samples == 1 ? 0.5 : k / (samples - 1.0);
+            xs[k] = -1.0 + 2.0 * fraction;
+            expected[k] = function.applyAsDouble(middle + radius * xs[k]);
+        }
+
+        Partial total = pool.invoke(new ChunkTask(nodes, coefficients, xs, expected, 0, samples));
+
+        int[] nodeCounts = new int[count - 1];
+        double[] rmsErrors = new double[count - 1];
+        for (int n = 2; n <= count; n++) {
+            nodeCounts[n - 2] = n;
+            rmsErrors[n - 2] = total.samples > 0 ? Math.sqrt(total.sumOfSquares[n - 2] / total.samples) : Double.NaN;
+        }
+        double[] maxErrors = total.samples > 0 ? total.maxErrors : filledWithNaN(count - 1);
+        return new NodeSweepResult(distribution, nodeCounts, maxErrors, rmsErrors, total.samples);
+    }
+
+    private static double[] filledWithNaN(int length) {
+        double[] values = new double[length];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    // Ошибки куска контрольных точек; индекс n - 2 соответствует n узлам
+    private static class Partial {
+        final double[] maxErrors;
+        final double[] sumOfSquares;
+        int samples;
+
+        Partial(int length) {
+            this.maxErrors = new double[length];
+            this.sumOfSquares = new double[length];
+        }
+
+        void accept(int index, double error) {
+            // NaN не затирается последующими сравнениями
+            if (error > maxErrors[index] || Double.isNaN(error)) {
+                maxErrors[index] = error;
+            }
+            sumOfSquares[index] += error * error;
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < maxErrors.length; i++) {
+                if (other.maxErrors[i] > maxErrors[i] || Double.isNaN(other.maxErrors[i])) {
+                    maxErrors[i] = other.maxErrors[i];
+                }
+                sumOfSquares[i] += other.sumOfSquares[i];
+            }
+            samples += other.samples;
+            return this;
+        }
+    }
+
+    private static class ChunkTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] nodes;
+        private final double[] coefficients;
+        private final double[] xs;
+        private final double[] expected;
+        private final int from;
+        private final int to;
+
+        ChunkTask(double[] nodes, double[] coefficients, double[] xs, double[] expected, int from, int to) {
+            this.nodes = nodes;
+            this.coefficients = coefficients;
+            this.xs = xs;
+            this.expected = expected;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                ChunkTask right = new ChunkTask(nodes, coefficients, xs, expected, middle, to);
+                right.fork();
+                Partial left = new ChunkTask(nodes, coefficients, xs, expected, from, middle).compute();
+                return left.merge(right.join());
+            }
+
+            int count = coefficients.length;
+            Partial partial = new Partial(count - 1);
+            for (int k = from; k < to; k++) {
+                double f = expected[k];
+                if (!Double.isFinite(f)) {
+                    continue;
+                }
+                double u = xs[k];
+                double value = coefficients[0];
+                double product = 1.0;
+                for (int n = 1; n < count; n++) {
+                    product *= u - nodes[n - 1];
+                    value += coefficients[n] * product;
+                    partial.accept(n - 1, Math.abs(value - f));
+                }
+                partial.samples++;
+            }
+            return partial;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.ifmo.cs.service;
+
+// Локальная интерполяция по хранилищу вне кучи: как PiecewiseInterpolant, но узлы окна читаются прямо
+// из буферов хранилища. Многочлен окна строится в форме Ньютона в заранее выделенных массивах,
+// так что вычисления по 10^8 узлам не создают объектов в куче.
+public class OffHeapPiecewiseInterpolant {
+    private final OffHeapPointStorage storage;
+    private final int window;
+    private final double[] localX;
+    private final double[] coefficients;
+
+    // Последнее окно: соседние аргументы обычно попадают в него же
+    private long cachedStart = -1;
+
+    OffHeapPiecewiseInterpolant(OffHeapPointStorage storage, int degree) {
+        if (degree < 1) {
+            throw new IllegalArgumentException("Степень локального многочлена должна быть не меньше 1");
+        }
+        if (!storage.isSorted()) {
+            throw new IllegalArgumentException("Узлы хранилища не отсортированы по x");
+        }
+        this.storage = storage;
+        this.window = (int) Math.min((long) degree + 1, storage.size());
+        this.localX = new double[window];
+        this.coefficients = new double[window];
+    }
+
+    public double evaluate(double x) {
+        if (storage.size() < 2 || Double.isNaN(x)) return Double.NaN;
+
+        long start = windowStart(x);
+        if (start != cachedStart) {
+            loadWindow(start);
+            cachedStart = start;
+        }
+
+        double result = coefficients[window - 1];
+        for (int i = window - 2; i >= 0; i--) {
+            result = result * (x - localX[i]) + coefficients[i];
+        }
+        return result;
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        for (int k = 0; k < xs.length; k++) {
+            out[k] = evaluate(xs[k]);
+        }
+    }
+
+    public int getDegree() {
+        return window - 1;
+    }
+
+    long windowStart(double x) {
+        long interval = storage.findInterval(x);
+        // Окно из window узлов вокруг отрезка [x(interval), x(interval+1)]
+        long start = interval + 1 - window / 2;
+        return Math.max(0, Math.min(storage.size() - window, start));
+    }
+
+    // Разделённые разности окна на месте: coefficients[i] = f[x(0), ..., x(i)]
+    private void loadWindow(long start) {
+        for (int i = 0; i < window; i++) {
+            localX[i] = storage.getX(start + i);
+            coefficients[i] = storage.getY(start + i);
+        }
+        for (int order = 1; order < window; order++) {
+            for (int i = window - 1; i >= order; i--) {
+                coefficients[i] = (coefficients[i] - coefficients[i - 1]) / (localX[i] - localX[i - order]);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.PointSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Хранилище точек вне кучи: столбцы x и y лежат в прямых буферах или отображённых страницах файла,
+// поэтому 10^8 точек занимают 1.6 ГБ нативной памяти и не создают нагрузки на сборщик мусора.
+// Буфер адресуется int, поэтому столбец делится на куски по 2^27 значений (1 ГБ) — размер не ограничен 2 ГБ.
+// После close() любое обращение бросает IllegalStateException; сами страницы освобождает сборщик мусора.
+public final class OffHeapPointStorage implements AutoCloseable {
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int CHUNK_SHIFT = 27;
+    private static final int CHUNK_VALUES = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_VALUES - 1;
+
+    private DoubleBuffer[] xs;
+    private DoubleBuffer[] ys;
+    private final long count;
+    private final boolean sorted;
+    private final boolean uniform;
+    private final double step;
+
+    private OffHeapPointStorage(DoubleBuffer[] xs, DoubleBuffer[] ys, long count,
+                                boolean sorted, boolean uniform, double step) {
+        this.xs = xs;
+        this.ys = ys;
+        this.count = count;
+        this.sorted = sorted;
+        this.uniform = uniform;
+        this.step = step;
+    }
+
+    public static OffHeapPointStorage copyOf(PointSet points) {
+        int n = points.size();
+        DoubleBuffer[] xs = new DoubleBuffer[chunkCount(n)];
+        DoubleBuffer[] ys = new DoubleBuffer[xs.length];
+        for (int chunk = 0; chunk < xs.length; chunk++) {
+            int from = chunk * CHUNK_VALUES;
+            int length = (int) Math.min(CHUNK_VALUES, (long) n - from);
+            xs[chunk] = ByteBuffer.allocateDirect(length * Double.BYTES).order(ORDER).asDoubleBuffer();
+            ys[chunk] = ByteBuffer.allocateDirect(length * Double.BYTES).order(ORDER).asDoubleBuffer();
+            for (int i = 0; i < length; i++) {
+                xs[chunk].put(i, points.getX(from + i));
+                ys[chunk].put(i, points.getY(from + i));
+            }
+        }
+        return new OffHeapPointStorage(xs, ys, n, true, points.isEquallySpaced(), points.getStep());
+    }
+
+    public static OffHeapPointStorage map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < BinaryPointFile.HEADER_SIZE) {
+                throw new IOException("Файл слишком короткий для двоичного набора точек");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryPointFile.HEADER_SIZE);
+            header.order(ORDER);
+            if (header.getInt(0) != BinaryPointFile.MAGIC) {
+                throw new IOException("Неверная сигнатура двоичного набора точек");
+            }
+            short version = header.getShort(4);
+            if (version != BinaryPointFile.VERSION) {
+                throw new IOException("Неподдерживаемая версия формата: " + version);
+            }
+            int flags = header.getShort(6);
+            long count = header.getLong(8);
+            double step = header.getDouble(16);
+            long offset = header.getLong(24);
+            if (count < 0 || offset < BinaryPointFile.HEADER_SIZE || offset % Double.BYTES != 0
+                    || count > (size - offset) / (2L * Double.BYTES)) {
+                throw new IOException("Повреждённый заголовок двоичного набора точек");
+            }
+
+            // Отображения остаются действительными и после закрытия канала
+            boolean uniform = (flags & BinaryPointFile.FLAG_UNIFORM) != 0;
+            return new OffHeapPointStorage(mapColumn(channel, offset, count),
+                    mapColumn(channel, offset + count * Double.BYTES, count), count,
+                    (flags & BinaryPointFile.FLAG_SORTED) != 0, uniform, uniform ? step : Double.NaN);
+        }
+    }
+
+    private static DoubleBuffer[] mapColumn(FileChannel channel, long position, long count) throws IOException {
+        DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(count)];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            long from = (long) chunk << CHUNK_SHIFT;
+            long length = Math.min(CHUNK_VALUES, count - from);
+            chunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY, position + from * Double.BYTES,
+                    length * Double.BYTES).order(ORDER).asDoubleBuffer();
+        }
+        return chunks;
+    }
+
+    private static int chunkCount(long count) {
+        return (int) ((count + CHUNK_VALUES - 1) >>> CHUNK_SHIFT);
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public double getX(long index) {
+        return read(xs, index);
+    }
+
+    public double getY(long index) {
+        return read(ys, index);
+    }
+
+    private double read(DoubleBuffer[] column, long index) {
+        if (column == null) {
+            throw new IllegalStateException("Хранилище точек закрыто");
+        }
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Индекс " + index + " вне хранилища из " + count + " точек");
+        }
+        return column[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public boolean isUniform() {
+        return uniform;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    // Номер i отрезка [x(i), x(i+1)], содержащего x, в пределах 0..size-2; узлы должны быть отсортированы
+    public long findInterval(double x) {
+        if (!sorted) {
+            throw new IllegalArgumentException("Узлы хранилища не отсортированы по x");
+        }
+        if (count < 2) {
+            return 0;
+        }
+        if (uniform) {
+            double position = Math.floor((x - getX(0)) / step);
+            return (long) Math.max(0, Math.min(count - 2, position));
+        }
+        long low = 0;
+        long high = count - 1;
+        // Инвариант: x(low) <= x < x(high), если x внутри отрезка
+        while (high - low > 1) {
+            long middle = (low + high) >>> 1;
+            if (getX(middle) <= x) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Огибающая для графика: в каждой из buckets групп соседних точек остаются точки с минимальным
+    // и максимальным y (в порядке x), так что пики не теряются при любом прореживании
+    public PointSet decimate(int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Число групп должно быть положительным");
+        }
+        if (count <= 2L * buckets) {
+            double[] xValues = new double[(int) count];
+            double[] yValues = new double[(int) count];
+            for (int i = 0; i < count; i++) {
+                xValues[i] = getX(i);
+                yValues[i] = getY(i);
+            }
+            return PointSet.of(xValues, yValues);
+        }
+
+        double[] xValues = new double[2 * buckets];
+        double[] yValues = new double[2 * buckets];
+        int size = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            long from = count * bucket / buckets;
+            long to = count * (bucket + 1) / buckets;
+            long lowest = from;
+            long highest = from;
+            double low = getY(from);
+            double high = low;
+            for (long i = from + 1; i < to; i++) {
+                double y = getY(i);
+                if (y < low) {
+                    low = y;
+                    lowest = i;
+                }
+                if (y > high) {
+                    high = y;
+                    highest = i;
+                }
+            }
+            long first = Math.min(lowest, highest);
+            long second = Math.max(lowest, highest);
+            xValues[size] = getX(first);
+            yValues[size++] = getY(first);
+            if (second != first) {
+                xValues[size] = getX(second);
+                yValues[size++] = getY(second);
+            }
+        }
+        return PointSet.of(Arrays.copyOf(xValues, size), Arrays.copyOf(yValues, size));
+    }
+
+    @Override
+    public void close() {
+        xs = null;
+        ys = null;
+    }
+}
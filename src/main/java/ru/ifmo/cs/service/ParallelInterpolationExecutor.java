@@ -0,0 +1,137 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.BatchInterpolationResult;
+import ru.ifmo.cs.model.InterpolationMethod;
+import ru.ifmo.cs.model.PointSet;
+import ru.ifmo.cs.model.Precision;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+
+public class ParallelInterpolationExecutor {
+    // Меньшие куски не окупают накладные расходы на задачу
+    private static final int CHUNK_SIZE = 256;
+
+    private final InterpolationService service;
+    private final ForkJoinPool pool;
+
+    public ParallelInterpolationExecutor(InterpolationService service) {
+        this(service, ForkJoinPool.commonPool());
+    }
+
+    public ParallelInterpolationExecutor(InterpolationService service, ForkJoinPool pool) {
+        this.service = service;
+        this.pool = pool;
+    }
+
+    public BatchInterpolationResult evaluate(PointSet points, Set<InterpolationMethod> methods, double[] xs) {
+        return evaluate(service.analyze(points), methods, xs);
+    }
+
+    public BatchInterpolationResult evaluate(DatasetAnalysis analysis, Set<InterpolationMethod> methods, double[] xs) {
+        double[] arguments = xs.clone();
+        BatchInterpolationResult result = new BatchInterpolationResult(analysis.getPoints(), arguments);
+
+        List<MethodTask> tasks = new ArrayList<>();
+        for (InterpolationMethod method : methods) {
+            double[] out = new double[arguments.length];
+            result.setValues(method, out);
+            tasks.add(new MethodTask(analysis, method, arguments, out));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        return result;
+    }
+
+    private BatchKernel prepare(DatasetAnalysis analysis, InterpolationMethod method) {
+        if (service.getPrecision() == Precision.EXTENDED) {
+            if (method == InterpolationMethod.LAGRANGE) {
+                return scalar(service.prepareExtendedLagrange(analysis));
+            }
+            if (method == InterpolationMethod.NEWTON_DIVIDED) {
+                return scalar(service.prepareExtendedNewton(analysis));
+            }
+        }
+        switch (method) {
+            case LAGRANGE:
+                return analysis.lagrange()::evaluate;
+            case NEWTON_DIVIDED:
+                return analysis.dividedDifferences()::evaluate;
+            case NEWTON_FINITE:
+                return (xs, from, to, out) -> service.newtonFiniteDifferences(analysis, xs, from, to, out);
+            case STIRLING:
+                return (xs, from, to, out) -> service.centralDifferenceBatch(analysis, xs, from, to, out, true);
+            default:
+                return (xs, from, to, out) -> service.centralDifferenceBatch(analysis, xs, from, to, out, false);
+        }
+    }
+
+    private static BatchKernel scalar(DoubleUnaryOperator kernel) {
+        return (xs, from, to, out) -> {
+            for (int k = from; k < to; k++) {
+                out[k] = kernel.applyAsDouble(xs[k]);
+            }
+        };
+    }
+
+    // Пакетное вычисление подготовленной модели на отрезке [from, to) аргументов: так кускам достаются
+    // векторные ядра, а результат пишется сразу в общий выходной массив
+    @FunctionalInterface
+    private interface BatchKernel {
+        void evaluate(double[] xs, int from, int to, double[] out);
+    }
+
+    // Подготовка модели метода, затем вычисление по кускам отрезка аргументов
+    private class MethodTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final DatasetAnalysis analysis;
+        private final InterpolationMethod method;
+        private final double[] xs;
+        private final double[] out;
+
+        MethodTask(DatasetAnalysis analysis, InterpolationMethod method, double[] xs, double[] out) {
+            this.analysis = analysis;
+            this.method = method;
+            this.xs = xs;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            new ChunkTask(prepare(analysis, method), xs, out, 0, xs.length).invoke();
+        }
+    }
+
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BatchKernel kernel;
+        private final double[] xs;
+        private final double[] out;
+        private final int from;
+        private final int to;
+
+        ChunkTask(BatchKernel kernel, double[] xs, double[] out, int from, int to) {
+            this.kernel = kernel;
+            this.xs = xs;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                kernel.evaluate(xs, from, to, out);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(kernel, xs, out, from, middle), new ChunkTask(kernel, xs, out, middle, to));
+        }
+    }
+}
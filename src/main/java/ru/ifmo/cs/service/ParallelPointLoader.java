@@ -0,0 +1,194 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.PointLoadReport;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Загрузка больших файлов точек: файл отображается в память кусками, выровненными по границам строк,
+// куски разбираются и сортируются параллельно, а затем сливаются в один отсортированный набор.
+// Результат побитово совпадает с последовательной загрузкой FileService.loadPointSet.
+public class ParallelPointLoader {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 23;
+    private static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelPointLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelPointLoader(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Размер куска должен быть положительным");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public PointLoadReport load(File file) throws IOException {
+        return load(file, LoadMonitor.NONE);
+    }
+
+    // Отмена проверяется перед разбором каждого куска; при отмене бросается CancellationException
+    public PointLoadReport load(File file, LoadMonitor monitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = chunkBounds(channel, size);
+            Progress progress = new Progress(monitor, size);
+            Chunk total;
+            try {
+                total = pool.invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1, progress));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new PointLoadReport(total.columns.toPointSet(), size, bounds.length - 1, total.lines,
+                    total.loadedPoints, total.validPoints, total.invalidPoints, total.errorLines);
+        }
+    }
+
+    // Границы кусков: каждый кусок, кроме последнего, заканчивается сразу после '\n'
+    private long[] chunkBounds(FileChannel channel, long size) throws IOException {
+        long[] bounds = new long[16];
+        int count = 1;
+        long start = 0;
+        while (size - start > chunkSize) {
+            long end = nextLineStart(channel, start + chunkSize, size);
+            if (end >= size) {
+                break;
+            }
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, count * 2);
+            }
+            bounds[count++] = end;
+            start = end;
+        }
+        if (count == bounds.length) {
+            bounds = Arrays.copyOf(bounds, count + 1);
+        }
+        bounds[count++] = size;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // Общий счётчик разобранных байт всех кусков
+    private static class Progress {
+        final LoadMonitor monitor;
+        final long totalBytes;
+        final AtomicLong processedBytes = new AtomicLong();
+
+        Progress(LoadMonitor monitor, long totalBytes) {
+            this.monitor = monitor;
+            this.totalBytes = totalBytes;
+        }
+
+        void chunkDone(long bytes) {
+            monitor.progress(processedBytes.addAndGet(bytes), totalBytes);
+        }
+    }
+
+    // Точки и счётчики куска; номера строк с ошибками отсчитываются от начала куска
+    private static class Chunk {
+        final PointColumns columns;
+        final int lines;
+        final int loadedPoints;
+        final int validPoints;
+        final int invalidPoints;
+        final int[] errorLines;
+
+        Chunk(PointColumns columns, int lines, int loadedPoints, int validPoints, int invalidPoints,
+              int[] errorLines) {
+            this.columns = columns;
+            this.lines = lines;
+            this.loadedPoints = loadedPoints;
+            this.validPoints = validPoints;
+            this.invalidPoints = invalidPoints;
+            this.errorLines = errorLines;
+        }
+
+        Chunk merge(Chunk right) {
+            int errorCount = Math.min(errorLines.length + right.errorLines.length, PointFileParser.MAX_ERROR_LINES);
+            int[] merged = Arrays.copyOf(errorLines, errorCount);
+            for (int i = errorLines.length; i < errorCount; i++) {
+                merged[i] = right.errorLines[i - errorLines.length] + lines;
+            }
+            return new Chunk(PointColumns.merge(columns, right.columns), lines + right.lines,
+                    loadedPoints + right.loadedPoints, validPoints + right.validPoints,
+                    invalidPoints + right.invalidPoints, merged);
+        }
+    }
+
+    private static class ChunkTask extends RecursiveTask<Chunk> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+        private final Progress progress;
+
+        ChunkTask(FileChannel channel, long[] bounds, int from, int to, Progress progress) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.progress = progress;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                ChunkTask right = new ChunkTask(channel, bounds, middle, to, progress);
+                right.fork();
+                Chunk left = new ChunkTask(channel, bounds, from, middle, progress).compute();
+                return left.merge(right.join());
+            }
+
+            if (progress.monitor.isCancelled()) {
+                throw new CancellationException("Загрузка отменена");
+            }
+            long start = bounds[from];
+            long length = bounds[to] - start;
+            PointColumns columns = new PointColumns((int) Math.min(length / 16 + 16, 1 << 20));
+            PointFileParser parser = new PointFileParser(columns, false);
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                parser.parse(buffer, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            columns.sortByX();
+            progress.chunkDone(length);
+            return new Chunk(columns, parser.getLineNumber(), parser.getLoadedPoints(), parser.getValidPoints(),
+                    parser.getInvalidPoints(), parser.getErrorLines());
+        }
+    }
+}
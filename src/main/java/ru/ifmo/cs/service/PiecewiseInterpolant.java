@@ -0,0 +1,101 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.InterpolationMethod;
+import ru.ifmo.cs.model.PointSet;
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+public class PiecewiseInterpolant {
+    private final InterpolationService service;
+    private final InterpolationMethod method;
+    private final double[] xValues;
+    private final double[] yValues;
+    private final boolean uniform;
+    private final double step;
+    private final int window;
+
+    // Последнее локальное окно: соседние аргументы обычно попадают в него же
+    private int cachedStart = -1;
+    private DoubleUnaryOperator cachedModel;
+
+    // Массивы узлов общие с DatasetAnalysis: подготовка не копирует набор
+    PiecewiseInterpolant(InterpolationService service, DatasetAnalysis analysis, InterpolationMethod method, int degree) {
+        if (degree < 1) {
+            throw new IllegalArgumentException("Степень локального многочлена должна быть не меньше 1");
+        }
+        this.service = service;
+        this.method = method;
+        this.xValues = analysis.xValues();
+        this.yValues = analysis.yValues();
+        this.uniform = analysis.isUniform();
+        this.step = analysis.getStep();
+        this.window = (int) Math.min((long) degree + 1, xValues.length);
+    }
+
+    public double evaluate(double x) {
+        if (xValues.length < 2 || Double.isNaN(x)) return Double.NaN;
+
+        int start = windowStart(x);
+        if (start != cachedStart) {
+            cachedModel = localModel(start);
+            cachedStart = start;
+        }
+        return cachedModel.applyAsDouble(x);
+    }
+
+    public void evaluate(double[] xs, double[] out) {
+        if (out.length < xs.length) {
+            throw new IllegalArgumentException("Выходной массив короче массива аргументов");
+        }
+        for (int k = 0; k < xs.length; k++) {
+            out[k] = evaluate(xs[k]);
+        }
+    }
+
+    public InterpolationMethod getMethod() {
+        return method;
+    }
+
+    public int getDegree() {
+        return window - 1;
+    }
+
+    int windowStart(double x) {
+        int n = xValues.length;
+        int interval;
+        if (uniform) {
+            double position = Math.floor((x - xValues[0]) / step);
+            interval = (int) Math.max(0, Math.min(n - 2, position));
+        } else {
+            int found = Arrays.binarySearch(xValues, x);
+            interval = found >= 0 ? found : -found - 2;
+            interval = Math.max(0, Math.min(n - 2, interval));
+        }
+
+        // Окно из window узлов вокруг отрезка [x(interval), x(interval+1)]
+        int start = interval + 1 - window / 2;
+        return Math.max(0, Math.min(n - window, start));
+    }
+
+    private DoubleUnaryOperator localModel(int start) {
+        double[] localX = Arrays.copyOfRange(xValues, start, start + window);
+        double[] localY = Arrays.copyOfRange(yValues, start, start + window);
+
+        switch (method) {
+            case LAGRANGE:
+                return new BarycentricLagrangeInterpolant(localX, localY)::evaluate;
+            case NEWTON_DIVIDED:
+                return new NewtonInterpolant(localX, localY)::evaluate;
+            default:
+                // Окно не проходит через кэш сервиса, чтобы не вытеснять разбор всего набора
+                DatasetAnalysis analysis = new DatasetAnalysis(PointSet.of(localX, localY));
+                if (method == InterpolationMethod.NEWTON_FINITE) {
+                    return x -> service.newtonFiniteDifferences(analysis, x);
+                }
+                if (method == InterpolationMethod.STIRLING) {
+                    return x -> service.stirlingInterpolation(analysis, x);
+                }
+                return x -> service.besselInterpolation(analysis, x);
+        }
+    }
+}
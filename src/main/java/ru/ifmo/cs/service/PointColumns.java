@@ -0,0 +1,124 @@
+package ru.ifmo.cs.service;
+
+import ru.ifmo.cs.model.PointSet;
+import java.util.Arrays;
+
+// Растущие столбцы x и y для загрузки файлов без объектов-точек.
+// Сортировка по x устойчивая, поэтому порядок точек с равными x тот же, что даёт PointSet.of.
+final class PointColumns implements PointFileParser.PointConsumer {
+    private static final int INSERTION_RUN = 32;
+
+    private double[] xs;
+    private double[] ys;
+    private int count;
+
+    PointColumns() {
+        this(1024);
+    }
+
+    PointColumns(int capacity) {
+        this.xs = new double[Math.max(capacity, 1)];
+        this.ys = new double[xs.length];
+    }
+
+    @Override
+    public void accept(double x, double y) {
+        if (count == xs.length) {
+            xs = Arrays.copyOf(xs, count * 2);
+            ys = Arrays.copyOf(ys, count * 2);
+        }
+        xs[count] = x;
+        ys[count] = y;
+        count++;
+    }
+
+    int size() {
+        return count;
+    }
+
+    // Столбцы уже отсортированы sortByX или merge, поэтому PointSet получает их без второй копии;
+    // после вызова PointColumns не используется
+    PointSet toPointSet() {
+        double[] resultX = count == xs.length ? xs : Arrays.copyOf(xs, count);
+        double[] resultY = count == ys.length ? ys : Arrays.copyOf(ys, count);
+        return PointSet.wrapSorted(resultX, resultY);
+    }
+
+    // Сортировка слиянием снизу вверх прямо по массивам double, без упаковки индексов в Integer
+    void sortByX() {
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = Double.compare(xs[i - 1], xs[i]) <= 0;
+        }
+        if (sorted) {
+            return;
+        }
+
+        for (int from = 0; from < count; from += INSERTION_RUN) {
+            insertionSort(xs, ys, from, Math.min(from + INSERTION_RUN, count));
+        }
+        double[] sourceX = xs;
+        double[] sourceY = ys;
+        double[] targetX = new double[xs.length];
+        double[] targetY = new double[ys.length];
+        for (int width = INSERTION_RUN; width < count; width *= 2) {
+            for (int from = 0; from < count; from += 2 * width) {
+                int middle = Math.min(from + width, count);
+                int to = Math.min(from + 2 * width, count);
+                merge(sourceX, sourceY, from, middle, sourceX, sourceY, middle, to, targetX, targetY, from);
+            }
+            double[] swapX = sourceX;
+            double[] swapY = sourceY;
+            sourceX = targetX;
+            sourceY = targetY;
+            targetX = swapX;
+            targetY = swapY;
+        }
+        xs = sourceX;
+        ys = sourceY;
+    }
+
+    // Слияние двух отсортированных наборов; при равных x первыми идут точки left
+    static PointColumns merge(PointColumns left, PointColumns right) {
+        PointColumns merged = new PointColumns(left.count + right.count);
+        merge(left.xs, left.ys, 0, left.count, right.xs, right.ys, 0, right.count, merged.xs, merged.ys, 0);
+        merged.count = left.count + right.count;
+        return merged;
+    }
+
+    private static void insertionSort(double[] xs, double[] ys, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            int j = i - 1;
+            while (j >= from && Double.compare(xs[j], x) > 0) {
+                xs[j + 1] = xs[j];
+                ys[j + 1] = ys[j];
+                j--;
+            }
+            xs[j + 1] = x;
+            ys[j + 1] = y;
+        }
+    }
+
+    private static void merge(double[] leftX, double[] leftY, int leftFrom, int leftTo,
+                              double[] rightX, double[] rightY, int rightFrom, int rightTo,
+                              double[] targetX, double[] targetY, int target) {
+        int i = leftFrom;
+        int j = rightFrom;
+        while (i < leftTo && j < rightTo) {
+            if (Double.compare(rightX[j], leftX[i]) < 0) {
+                targetX[target] = rightX[j];
+                targetY[target++] = rightY[j++];
+            } else {
+                targetX[target] = leftX[i];
+                targetY[target++] = leftY[i++];
+            }
+        }
+        System.arraycopy(leftX, i, targetX, target, leftTo - i);
+        System.arraycopy(leftY, i, targetY, target, leftTo - i);
+        target += leftTo - i;
+        System.arraycopy(rightX, j, targetX, target, rightTo - j);
+        System.arraycopy(rightY, j, targetY, target, rightTo - j);
+    }
+}
@@ -0,0 +1,307 @@
+package ru.ifmo.cs.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+// Потоковый разбор файлов точек прямо в байтовом буфере: строки и токены не создаются.
+// Формат тот же, что и раньше: две первые колонки строки — x и y, разделители — пробелы и запятые,
+// строки, начинающиеся с # или //, пропускаются. Если в строке есть ';', разделителем служит он,
+// а запятая считается десятичной: "1,5; 2,25".
+final class PointFileParser {
+    // 10^0 .. 10^22 представимы в double точно
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    // Сколько номеров строк с ошибками запоминается
+    static final int MAX_ERROR_LINES = 100;
+
+    private final PointConsumer consumer;
+    private final boolean reportErrors;
+    private int lineNumber;
+    private int loadedPoints;
+    private int validPoints;
+    private int invalidPoints;
+    private boolean afterCarriageReturn;
+    private final int[] errorLines = new int[MAX_ERROR_LINES];
+    private int errorLineCount;
+
+    // Поля результата разбора числа: так парсер обходится без объектов-обёрток
+    private double parsedValue;
+    private int parsedEnd;
+
+    PointFileParser(PointConsumer consumer) {
+        this(consumer, true);
+    }
+
+    PointFileParser(PointConsumer consumer, boolean reportErrors) {
+        this.consumer = consumer;
+        this.reportErrors = reportErrors;
+    }
+
+    // Разбирает полные строки от position до limit и оставляет position в начале недочитанной строки.
+    // При endOfInput последняя строка без перевода строки тоже считается полной.
+    void parse(ByteBuffer buffer, boolean endOfInput) {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        if (lineNumber == 0 && position + 3 <= limit && buffer.get(position) == (byte) 0xEF
+                && buffer.get(position + 1) == (byte) 0xBB && buffer.get(position + 2) == (byte) 0xBF) {
+            position += 3;
+        }
+
+        while (position < limit) {
+            // \r\n считается одним переводом строки, даже если \n пришёл в следующем блоке
+            if (afterCarriageReturn) {
+                afterCarriageReturn = false;
+                if (buffer.get(position) == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+
+            int end = position;
+            while (end < limit && buffer.get(end) != '\n' && buffer.get(end) != '\r') {
+                end++;
+            }
+            if (end == limit && !endOfInput) {
+                break;
+            }
+
+            lineNumber++;
+            parseLine(buffer, position, end);
+            if (end < limit) {
+                afterCarriageReturn = buffer.get(end) == '\r';
+                end++;
+            }
+            position = end;
+        }
+        buffer.position(position);
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end) {
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end || buffer.get(start) == '#'
+                || (buffer.get(start) == '/' && start + 1 < end && buffer.get(start + 1) == '/')) {
+            return;
+        }
+
+        boolean semicolons = false;
+        for (int i = start; i < end && !semicolons; i++) {
+            semicolons = buffer.get(i) == ';';
+        }
+
+        int xStart = skipSeparators(buffer, start, end, semicolons);
+        int xEnd = tokenEnd(buffer, xStart, end, semicolons);
+        int yStart = skipSeparators(buffer, xEnd, end, semicolons);
+        int yEnd = tokenEnd(buffer, yStart, end, semicolons);
+        if (xStart == xEnd || yStart == yEnd) {
+            malformed("Недостаточно данных в строке ", buffer, start, end);
+            return;
+        }
+
+        if (!parseNumber(buffer, xStart, xEnd, semicolons)) {
+            malformed("Ошибка формата данных в строке ", buffer, start, end);
+            return;
+        }
+        double x = parsedValue;
+        if (!parseNumber(buffer, yStart, yEnd, semicolons)) {
+            malformed("Ошибка формата данных в строке ", buffer, start, end);
+            return;
+        }
+        double y = parsedValue;
+
+        consumer.accept(x, y);
+        loadedPoints++;
+        if (Double.isFinite(x) && Double.isFinite(y)) {
+            validPoints++;
+        } else {
+            invalidPoints++;
+        }
+    }
+
+    private static boolean isSeparator(byte b, boolean semicolons) {
+        if (b == ' ' || b == '\t' || b == '\f' || b == 0x0B) {
+            return true;
+        }
+        return semicolons ? b == ';' : b == ',';
+    }
+
+    private static int skipSeparators(ByteBuffer buffer, int i, int end, boolean semicolons) {
+        while (i < end && isSeparator(buffer.get(i), semicolons)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int tokenEnd(ByteBuffer buffer, int i, int end, boolean semicolons) {
+        while (i < end && !isSeparator(buffer.get(i), semicolons)) {
+            i++;
+        }
+        return i;
+    }
+
+    private boolean parseNumber(ByteBuffer buffer, int start, int end, boolean commaDecimal) {
+        if (parseDouble(buffer, start, end, commaDecimal) && parsedEnd == end) {
+            return true;
+        }
+        // Редкие записи (шестнадцатеричные, суффиксы d/f, больше 18 значащих цифр) разбирает стандартный парсер
+        StringBuilder token = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = (char) (buffer.get(i) & 0xFF);
+            token.append(commaDecimal && c == ',' ? '.' : c);
+        }
+        try {
+            parsedValue = Double.parseDouble(token.toString());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Быстрый путь Клингера: не более 2^53 в мантиссе и |порядок| <= 22 дают точно округлённый результат
+    // одним умножением или делением. Всё остальное отдаётся Double.parseDouble.
+    private boolean parseDouble(ByteBuffer buffer, int start, int end, boolean commaDecimal) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+
+        if (i < end && isLetter(buffer.get(i))) {
+            if (matches(buffer, i, end, "nan")) {
+                parsedValue = Double.NaN;
+            } else if (matches(buffer, i, end, "inf") || matches(buffer, i, end, "infinity")) {
+                parsedValue = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            } else {
+                return false;
+            }
+            parsedEnd = end;
+            return true;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                digits++;
+                if (significant > 0 || b != '0') {
+                    if (++significant > 18) {
+                        return false;
+                    }
+                    mantissa = mantissa * 10 + (b - '0');
+                }
+                if (point) {
+                    exponent--;
+                }
+            } else if (!point && (b == '.' || (commaDecimal && b == ','))) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < end && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negativeExponent = buffer.get(i) == '-';
+                i++;
+            }
+            int exponentStart = i;
+            int value = 0;
+            for (; i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9'; i++) {
+                if (value < 100_000) {
+                    value = value * 10 + (buffer.get(i) - '0');
+                }
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        parsedEnd = i;
+
+        double result;
+        if (mantissa == 0) {
+            result = 0.0;
+        } else if (mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            result = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            return false;
+        }
+        parsedValue = negative ? -result : result;
+        return true;
+    }
+
+    private static boolean isLetter(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+    }
+
+    private static boolean matches(ByteBuffer buffer, int start, int end, String word) {
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toLowerCase((char) buffer.get(start + i)) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void malformed(String message, ByteBuffer buffer, int start, int end) {
+        invalidPoints++;
+        if (errorLineCount < errorLines.length) {
+            errorLines[errorLineCount++] = lineNumber;
+        }
+        if (!reportErrors) {
+            return;
+        }
+        byte[] line = new byte[end - start];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = buffer.get(start + i);
+        }
+        System.err.println(message + lineNumber + ": " + new String(line, Charset.defaultCharset()));
+    }
+
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    int getLoadedPoints() {
+        return loadedPoints;
+    }
+
+    int getValidPoints() {
+        return validPoints;
+    }
+
+    int getInvalidPoints() {
+        return invalidPoints;
+    }
+
+    // Номера первых MAX_ERROR_LINES строк, которые не удалось разобрать
+    int[] getErrorLines() {
+        return Arrays.copyOf(errorLines, errorLineCount);
+    }
+
+    @FunctionalInterface
+    interface PointConsumer {
+        void accept(double x, double y);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.ifmo.cs.service;
+
+// Исходные формулы Лагранжа и Ньютона с проверкой на каждом шаге.
+// Сервис использует быстрые версии, эти остаются эталоном для сравнения.
+public class ReferenceInterpolation {
+
+    public double lagrange(double[] xValues, double[] yValues, double x) {
+        int n = xValues.length;
+        if (n < 2) return Double.NaN;
+
+        double result = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            double term = yValues[i];
+            if (!Double.isFinite(term)) {
+                return Double.NaN;
+            }
+
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    double denominator = xValues[i] - xValues[j];
+                    if (Math.abs(denominator) < 1e-15) {
+                        return Double.NaN;
+                    }
+                    term *= (x - xValues[j]) / denominator;
+                    if (!Double.isFinite(term)) {
+                        return Double.NaN;
+                    }
+                }
+            }
+            result += term;
+            if (!Double.isFinite(result)) {
+                return Double.NaN;
+            }
+        }
+
+        return result;
+    }
+
+    public double dividedDifferences(double[] xValues, double[] yValues, double x) {
+        int n = xValues.length;
+        if (n < 2) return Double.NaN;
+
+        for (int i = 0; i < n; i++) {
+            if (!Double.isFinite(xValues[i]) || !Double.isFinite(yValues[i])) {
+                return Double.NaN;
+            }
+        }
+
+        double[][] dividedDifferences = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            dividedDifferences[i][0] = yValues[i];
+        }
+
+        for (int j = 1; j < n; j++) {
+            for (int i = 0; i < n - j; i++) {
+                double denominator = xValues[i + j] - xValues[i];
+                if (Math.abs(denominator) < 1e-15) {
+                    return Double.NaN;
+                }
+                dividedDifferences[i][j] = (dividedDifferences[i + 1][j - 1] - dividedDifferences[i][j - 1])
+                                         / denominator;
+                if (!Double.isFinite(dividedDifferences[i][j])) {
+                    return Double.NaN;
+                }
+            }
+        }
+
+        double result = dividedDifferences[0][0];
+        double term = 1.0;
+
+        for (int i = 1; i < n; i++) {
+            term *= (x - xValues[i - 1]);
+            if (!Double.isFinite(term)) {
+                return Double.NaN;
+            }
+            result += dividedDifferences[0][i] * term;
+            if (!Double.isFinite(result)) {
+                return Double.NaN;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.ifmo.cs.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Векторные версии пакетных циклов. Порядок операций в каждой дорожке тот же, что и в скалярном коде
+// (умножение и сложение без FMA), поэтому результаты совпадают побитово.
+final class VectorKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    static boolean isSupported() {
+        return SPECIES.length() >= 2;
+    }
+
+    // Обрабатывают аргументы отрезка [from, to) и возвращают индекс, с которого хвост досчитывается скалярно
+    static int horner(double[] nodes, double[] coefficients, int size,
+                      double[] xs, double[] out, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        double leading = coefficients[size - 1];
+        for (int k = from; k < bound; k += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, k);
+            DoubleVector result = DoubleVector.broadcast(SPECIES, leading);
+            for (int i = size - 2; i >= 0; i--) {
+                result = result.mul(x.sub(nodes[i])).add(coefficients[i]);
+            }
+            result.intoArray(out, k);
+        }
+        return bound;
+    }
+
+    // Блоки, в которых аргумент совпал с узлом, помечаются NaN в out и пересчитываются вызывающим кодом
+    static int barycentric(double[] nodes, double[] values, double[] weights,
+                           double[] xs, double[] out, int from, int to, boolean[] exactHits) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int lanes = SPECIES.length();
+        for (int k = from; k < bound; k += lanes) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, k);
+            DoubleVector numerator = DoubleVector.zero(SPECIES);
+            DoubleVector denominator = DoubleVector.zero(SPECIES);
+            VectorMask<Double> hit = SPECIES.maskAll(false);
+            for (int j = 0; j < nodes.length; j++) {
+                DoubleVector difference = x.sub(nodes[j]);
+                hit = hit.or(difference.compare(VectorOperators.EQ, 0.0));
+                DoubleVector term = DoubleVector.broadcast(SPECIES, weights[j]).div(difference);
+                numerator = numerator.add(term.mul(values[j]));
+                denominator = denominator.add(term);
+            }
+            numerator.div(denominator).intoArray(out, k);
+            exactHits[(k - from) / lanes] = hit.anyTrue();
+        }
+        return bound;
+    }
+
+    static int cubic(double[] knots, double[] a, double[] b, double[] c, double[] d,
+                     int[] intervals, double[] xs, double[] out, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int k = 0; k < bound; k += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, xs, k);
+            DoubleVector t = x.sub(DoubleVector.fromArray(SPECIES, knots, 0, intervals, k));
+            DoubleVector result = DoubleVector.fromArray(SPECIES, d, 0, intervals, k);
+            result = DoubleVector.fromArray(SPECIES, c, 0, intervals, k).add(t.mul(result));
+            result = DoubleVector.fromArray(SPECIES, b, 0, intervals, k).add(t.mul(result));
+            result = DoubleVector.fromArray(SPECIES, a, 0, intervals, k).add(t.mul(result));
+            result.intoArray(out, k);
+        }
+        return bound;
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+}
@@ -3,10 +3,52 @@ package ru.ifmo.cs;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
+import ru.ifmo.cs.model.BatchInterpolationResult;
+import ru.ifmo.cs.model.CrossValidationResult;
+import ru.ifmo.cs.model.ErrorProfile;
+import ru.ifmo.cs.model.ErrorStatistics;
+import ru.ifmo.cs.model.FiniteDifferenceTable;
+import ru.ifmo.cs.model.InterpolationMethod;
 import ru.ifmo.cs.model.InterpolationPoint;
+import ru.ifmo.cs.model.NodeDistribution;
+import ru.ifmo.cs.model.NodeSweepResult;
+import ru.ifmo.cs.model.PointLoadReport;
+import ru.ifmo.cs.model.PointSet;
+import ru.ifmo.cs.model.Precision;
+import ru.ifmo.cs.model.ReferenceFunction;
+import ru.ifmo.cs.model.SplineBoundary;
+import ru.ifmo.cs.service.BarycentricLagrangeInterpolant;
+import ru.ifmo.cs.service.BinaryPointFile;
+import ru.ifmo.cs.service.CentralDifferenceInterpolant;
+import ru.ifmo.cs.service.ChebyshevInterpolant;
+import ru.ifmo.cs.service.CubicSpline;
+import ru.ifmo.cs.service.DatasetAnalysis;
+import ru.ifmo.cs.service.DoubleDouble;
+import ru.ifmo.cs.service.ErrorProfileEngine;
+import ru.ifmo.cs.service.ExtendedPrecisionInterpolation;
+import ru.ifmo.cs.service.Factorials;
+import ru.ifmo.cs.service.FileService;
+import ru.ifmo.cs.service.ParallelPointLoader;
+import ru.ifmo.cs.service.FloaterHormannInterpolant;
+import ru.ifmo.cs.service.NewtonInterpolant;
+import ru.ifmo.cs.service.OffHeapPiecewiseInterpolant;
+import ru.ifmo.cs.service.OffHeapPointStorage;
+import ru.ifmo.cs.service.PiecewiseInterpolant;
+import ru.ifmo.cs.service.NodeCountSweep;
 import ru.ifmo.cs.service.InterpolationService;
+import ru.ifmo.cs.service.LoadMonitor;
+import ru.ifmo.cs.service.ParallelInterpolationExecutor;
+import ru.ifmo.cs.service.ReferenceInterpolation;
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class InterpolationTest {
 
@@ -139,4 +181,1048 @@ public class InterpolationTest {
 
         assertEquals(lagrange, newtonDivided, 1e-10, "Методы Лагранжа и Ньютона должны давать одинаковые результаты");
     }
+
+    @Test
+    void testPreparedLagrangeMatchesDirectFormula() {
+        List<InterpolationPoint> points = Arrays.asList(
+            new InterpolationPoint(-1.0, 0.5),
+            new InterpolationPoint(0.0, 1.0),
+            new InterpolationPoint(0.7, -2.0),
+            new InterpolationPoint(2.0, 5.0),
+            new InterpolationPoint(3.5, 4.0)
+        );
+
+        BarycentricLagrangeInterpolant lagrange = interpolationService.prepareLagrange(points);
+        for (double x = -1.5; x <= 4.0; x += 0.25) {
+            assertEquals(interpolationService.lagrangeInterpolation(points, x), lagrange.evaluate(x), 1e-9,
+                "Барицентрическая форма должна совпадать с классической в точке " + x);
+        }
+        assertEquals(-2.0, lagrange.evaluate(0.7), 0.0, "В узле должно возвращаться табличное значение");
+    }
+
+    @Test
+    void testPreparedLagrangeInvalidData() {
+        List<InterpolationPoint> duplicates = Arrays.asList(
+            new InterpolationPoint(1.0, 1.0),
+            new InterpolationPoint(1.0, 2.0),
+            new InterpolationPoint(2.0, 3.0)
+        );
+        List<InterpolationPoint> withNaN = Arrays.asList(
+            new InterpolationPoint(0.0, Double.NaN),
+            new InterpolationPoint(1.0, 2.0),
+            new InterpolationPoint(2.0, 3.0)
+        );
+
+        assertTrue(Double.isNaN(interpolationService.prepareLagrange(duplicates).evaluate(1.5)));
+        assertTrue(Double.isNaN(interpolationService.prepareLagrange(withNaN).evaluate(1.5)));
+    }
+
+    @Test
+    void testPreparedNewtonMatchesDividedDifferences() {
+        List<InterpolationPoint> points = Arrays.asList(
+            new InterpolationPoint(0.0, 1.0),
+            new InterpolationPoint(0.5, 0.2),
+            new InterpolationPoint(1.0, 2.0),
+            new InterpolationPoint(2.5, -1.0),
+            new InterpolationPoint(3.0, 10.0)
+        );
+
+        NewtonInterpolant newton = interpolationService.prepareNewton(points);
+        for (double x = -0.5; x <= 3.5; x += 0.25) {
+            assertEquals(interpolationService.newtonDividedDifferences(points, x), newton.evaluate(x), 1e-9,
+                "Схема Горнера должна совпадать с прямым вычислением в точке " + x);
+        }
+    }
+
+    @Test
+    void testPreparedNewtonDuplicateXCoordinates() {
+        List<InterpolationPoint> points = Arrays.asList(
+            new InterpolationPoint(1.0, 1.0),
+            new InterpolationPoint(1.0, 2.0),
+            new InterpolationPoint(2.0, 3.0)
+        );
+
+        NewtonInterpolant newton = interpolationService.prepareNewton(points);
+        assertFalse(newton.isValid());
+        assertTrue(Double.isNaN(newton.evaluate(1.5)));
+    }
+
+    @Test
+    void testBatchEvaluationMatchesScalar() {
+        List<InterpolationPoint> points = Arrays.asList(
+            new InterpolationPoint(0.0, 1.0),
+            new InterpolationPoint(0.5, 1.5),
+            new InterpolationPoint(1.0, 0.0),
+            new InterpolationPoint(1.5, -2.0),
+            new InterpolationPoint(2.0, 5.0),
+            new InterpolationPoint(2.5, 4.0),
+            new InterpolationPoint(3.0, 3.0)
+        );
+
+        double[] xs = new double[41];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = -0.5 + i * 0.09;
+        }
+        double[] out = new double[xs.length];
+
+        interpolationService.lagrangeInterpolation(points, xs, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(interpolationService.lagrangeInterpolation(points, xs[i]), out[i], 1e-9);
+        }
+
+        interpolationService.newtonDividedDifferences(points, xs, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(interpolationService.newtonDividedDifferences(points, xs[i]), out[i], 1e-9);
+        }
+
+        interpolationService.newtonFiniteDifferences(points, xs, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(interpolationService.newtonFiniteDifferences(points, xs[i]), out[i], 1e-9);
+        }
+
+        interpolationService.stirlingInterpolation(points, xs, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(interpolationService.stirlingInterpolation(points, xs[i]), out[i], 1e-9);
+        }
+
+        interpolationService.besselInterpolation(points, xs, out);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(interpolationService.besselInterpolation(points, xs[i]), out[i], 1e-9);
+        }
+    }
+
+    @Test
+    void testCentralDifferencesReproducePolynomials() {
+        List<InterpolationPoint> sevenNodes = new ArrayList<>();
+        List<InterpolationPoint> sixNodes = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            double x = -1.5 + 0.5 * i;
+            sevenNodes.add(new InterpolationPoint(x, quintic(x)));
+            if (i < 6) {
+                sixNodes.add(new InterpolationPoint(x, quartic(x)));
+            }
+        }
+
+        for (double x = -1.4; x <= 1.4; x += 0.2) {
+            assertEquals(quintic(x), interpolationService.stirlingInterpolation(sevenNodes, x), 1e-9,
+                "Стирлинг по 7 узлам должен точно восстанавливать многочлен 5-й степени");
+            assertEquals(quintic(x), interpolationService.besselInterpolation(sevenNodes, x), 1e-9,
+                "Бессель по 7 узлам должен точно восстанавливать многочлен 5-й степени");
+            assertEquals(quartic(x), interpolationService.stirlingInterpolation(sixNodes, x), 1e-9);
+            assertEquals(quartic(x), interpolationService.besselInterpolation(sixNodes, x), 1e-9);
+        }
+    }
+
+    @Test
+    void testCentralDifferencesUseAllAvailableOrders() {
+        int n = 15;
+        double[] xValues = new double[n];
+        double[] yValues = new double[n];
+        for (int i = 0; i < n; i++) {
+            xValues[i] = 0.1 * i;
+            yValues[i] = Math.exp(xValues[i]);
+        }
+
+        CentralDifferenceInterpolant full = new CentralDifferenceInterpolant(xValues, yValues);
+        CentralDifferenceInterpolant truncated = new CentralDifferenceInterpolant(xValues, yValues, 4);
+
+        assertEquals(14, full.getStirlingOrder());
+        assertEquals(13, full.getBesselOrder());
+        assertEquals(4, truncated.getBesselOrder());
+        assertEquals(Math.exp(0.73), full.stirling(0.73), 1e-13);
+        assertEquals(Math.exp(0.73), full.bessel(0.73), 1e-13);
+        assertTrue(Math.abs(truncated.bessel(0.73) - Math.exp(0.73)) > 1e-10);
+    }
+
+    @Test
+    void testPackedFiniteDifferenceTable() {
+        FiniteDifferenceTable table = new FiniteDifferenceTable(new double[] {1.0, 2.0, 5.0, 10.0});
+
+        assertEquals(4, table.size());
+        assertEquals(10.0, table.get(3, 0), 0.0);
+        assertEquals(3.0, table.get(1, 1), 0.0);
+        assertEquals(2.0, table.get(0, 2), 0.0);
+        assertEquals(2.0, table.get(1, 2), 0.0);
+        assertEquals(0.0, table.get(0, 3), 0.0);
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(1, 3));
+    }
+
+    @Test
+    void testSharedTableGivesSameResults() {
+        List<InterpolationPoint> points = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            double x = 0.25 * i;
+            points.add(new InterpolationPoint(x, Math.sin(x)));
+        }
+
+        FiniteDifferenceTable table = interpolationService.buildFiniteDifferenceTable(points);
+        double x = 1.1;
+        assertEquals(interpolationService.newtonFiniteDifferences(points, x),
+            interpolationService.newtonFiniteDifferences(points, table, x), 0.0);
+        assertEquals(interpolationService.stirlingInterpolation(points, x),
+            interpolationService.stirlingInterpolation(points, table, x), 0.0);
+        assertEquals(interpolationService.besselInterpolation(points, x),
+            interpolationService.besselInterpolation(points, table, x), 0.0);
+        assertEquals(Math.sin(x), interpolationService.stirlingInterpolation(points, table, x), 1e-7);
+    }
+
+    @Test
+    void testPointSetSortsAndDescribesNodes() {
+        PointSet set = PointSet.of(new double[]{2.0, 0.0, 1.0, 3.0}, new double[]{4.0, 0.0, 1.0, 9.0});
+
+        assertArrayEquals(new double[]{0.0, 1.0, 2.0, 3.0}, set.getXs(), 0.0, "Узлы должны быть упорядочены");
+        assertArrayEquals(new double[]{0.0, 1.0, 4.0, 9.0}, set.getYs(), 0.0, "Значения должны следовать за узлами");
+        assertTrue(set.isEquallySpaced(), "Шаг должен определяться как постоянный");
+        assertEquals(1.0, set.getStep(), 1e-15);
+        assertEquals(0.0, set.getMinX(), 0.0);
+        assertEquals(3.0, set.getMaxX(), 0.0);
+        assertEquals(9.0, set.getMaxY(), 0.0);
+
+        List<InterpolationPoint> points = set.toPoints();
+        double x = 1.5;
+        assertEquals(interpolationService.lagrangeInterpolation(points, x),
+            interpolationService.lagrangeInterpolation(set, x), 0.0);
+        assertEquals(interpolationService.newtonFiniteDifferences(points, x),
+            interpolationService.newtonFiniteDifferences(set, x), 0.0);
+        assertEquals(interpolationService.besselInterpolation(points, x),
+            interpolationService.besselInterpolation(set, x), 0.0);
+        assertSame(interpolationService.analyze(set), interpolationService.analyze(set),
+            "Повторный разбор того же набора должен переиспользоваться");
+
+        PointSet wrapped = PointSet.wrapSorted(new double[]{0.0, 1.0, 2.0, 3.0}, new double[]{0.0, 1.0, 4.0, 9.0});
+        assertTrue(wrapped.isEquallySpaced());
+        assertEquals(9.0, wrapped.getMaxY(), 0.0);
+        assertThrows(IllegalArgumentException.class,
+            () -> PointSet.wrapSorted(new double[]{1.0, 0.0}, new double[]{0.0, 0.0}));
+    }
+
+    @Test
+    void testDatasetAnalysisReportsUsedAlgorithm() {
+        DatasetAnalysis uniform = interpolationService.analyze(
+            PointSet.of(new double[]{0.0, 0.5, 1.0, 1.5, 2.0}, new double[]{1.0, 2.0, 0.5, 3.0, 2.5}));
+        assertTrue(uniform.isUniform(), "Сетка должна быть равномерной");
+        assertEquals(0.5, uniform.getStep(), 1e-15);
+        assertEquals(0.0, uniform.getMaxSpacingDeviation(), 1e-15);
+        assertEquals(InterpolationMethod.STIRLING, uniform.algorithmFor(InterpolationMethod.STIRLING, 1.1));
+        assertEquals(InterpolationMethod.NEWTON_DIVIDED, uniform.algorithmFor(InterpolationMethod.BESSEL, 100.0),
+            "Далеко за интервалом должен использоваться Ньютон с разделёнными разностями");
+
+        PointSet skewed = PointSet.of(new double[]{0.0, 0.5, 1.1, 1.5, 2.0}, new double[]{1.0, 2.0, 0.5, 3.0, 2.5});
+        DatasetAnalysis analysis = interpolationService.analyze(skewed);
+        assertFalse(analysis.isUniform(), "Сетка должна быть неравномерной");
+        assertEquals(0.1, analysis.getMaxSpacingDeviation(), 1e-12);
+        assertEquals(InterpolationMethod.NEWTON_DIVIDED, analysis.algorithmFor(InterpolationMethod.NEWTON_FINITE, 1.0));
+
+        double x = 0.8;
+        double expected = interpolationService.newtonDividedDifferences(skewed, x);
+        assertEquals(expected, interpolationService.newtonFiniteDifferences(analysis, x), 1e-12);
+        assertEquals(expected, interpolationService.stirlingInterpolation(analysis, x), 1e-12);
+        assertEquals(expected, interpolationService.besselInterpolation(analysis, x), 1e-12);
+    }
+
+    @Test
+    void testIncrementalNewtonMatchesFullRebuild() {
+        NewtonInterpolant incremental = new NewtonInterpolant();
+        List<InterpolationPoint> points = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            double x = 0.3 * i + 0.05 * (i % 3);
+            double y = Math.cos(x);
+            incremental.addNode(x, y);
+            points.add(new InterpolationPoint(x, y));
+        }
+
+        NewtonInterpolant rebuilt = NewtonInterpolant.of(points);
+        assertEquals(12, incremental.size());
+        assertArrayEquals(rebuilt.getCoefficients(), incremental.getCoefficients(), 1e-9,
+            "Коэффициенты после добавления узлов должны совпадать с полным пересчётом");
+        for (double x = 0.0; x <= 3.3; x += 0.25) {
+            assertEquals(interpolationService.newtonDividedDifferences(points, x), incremental.evaluate(x), 1e-9);
+        }
+
+        incremental.addNode(0.0, 1.0);
+        assertFalse(incremental.isValid(), "Повторный x должен делать многочлен некорректным");
+        assertTrue(Double.isNaN(incremental.evaluate(1.0)));
+    }
+
+    @Test
+    void testPiecewiseInterpolationOnLargeDatasets() {
+        int n = 100_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] skewedXs = new double[n];
+        double[] skewedYs = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 1e-4 * i;
+            ys[i] = Math.sin(xs[i]);
+            skewedXs[i] = xs[i] + (i % 2 == 0 ? 0.0 : 3e-5);
+            skewedYs[i] = Math.sin(skewedXs[i]);
+        }
+        PointSet uniform = PointSet.of(xs, ys);
+        PointSet skewed = PointSet.of(skewedXs, skewedYs);
+
+        double[] targets = {0.0, 1.23456, 5.5, 9.99985};
+        for (InterpolationMethod method : InterpolationMethod.values()) {
+            for (double x : targets) {
+                assertEquals(Math.sin(x), interpolationService.piecewiseInterpolation(uniform, method, 3, x), 1e-12,
+                    method.getDisplayName() + " на равномерной сетке, x = " + x);
+                assertEquals(Math.sin(x), interpolationService.piecewiseInterpolation(skewed, method, 3, x), 1e-12,
+                    method.getDisplayName() + " на неравномерной сетке, x = " + x);
+            }
+        }
+
+        List<InterpolationPoint> small = Arrays.asList(
+            new InterpolationPoint(0.0, 1.0), new InterpolationPoint(1.0, 3.0), new InterpolationPoint(2.0, 2.0));
+        assertEquals(interpolationService.lagrangeInterpolation(small, 1.5),
+            interpolationService.preparePiecewise(small, InterpolationMethod.LAGRANGE, 10).evaluate(1.5), 1e-12,
+            "При степени выше числа узлов окно должно совпадать со всем набором");
+        assertThrows(IllegalArgumentException.class,
+            () -> interpolationService.preparePiecewise(small, InterpolationMethod.BESSEL, 0));
+    }
+
+    @Test
+    void testCubicSplineBoundaryConditions() {
+        double[] xs = {0.0, 0.4, 1.0, 1.7, 2.1, 3.0};
+        double[] cubic = new double[xs.length];
+        double[] sine = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            cubic[i] = xs[i] * xs[i] * xs[i] - 2 * xs[i];
+            sine[i] = Math.sin(xs[i]);
+        }
+
+        CubicSpline notAKnot = new CubicSpline(xs, cubic, SplineBoundary.NOT_A_KNOT);
+        CubicSpline clamped = new CubicSpline(xs, cubic, -2.0, 25.0);
+        for (double x = -0.5; x <= 3.5; x += 0.1) {
+            double expected = x * x * x - 2 * x;
+            assertEquals(expected, notAKnot.evaluate(x), 1e-9, "Not-a-knot сплайн должен воспроизводить кубику");
+            assertEquals(expected, clamped.evaluate(x), 1e-9, "Защемлённый сплайн должен воспроизводить кубику");
+        }
+
+        CubicSpline natural = new CubicSpline(xs, sine, SplineBoundary.NATURAL);
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(sine[i], natural.evaluate(xs[i]), 1e-14, "Сплайн должен проходить через узлы");
+        }
+        assertEquals(Math.sin(1.3), natural.evaluate(1.3), 1e-2);
+
+        assertFalse(new CubicSpline(new double[]{0.0, 1.0, 1.0}, new double[]{0.0, 1.0, 2.0},
+            SplineBoundary.NATURAL).isValid(), "Совпадающие x должны делать сплайн некорректным");
+    }
+
+    @Test
+    void testCubicSplineSortedBatchMatchesScalar() {
+        int n = 1_000_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i * 1e-5 + (i % 3) * 1e-7;
+            ys[i] = Math.sin(xs[i]);
+        }
+        PointSet points = PointSet.of(xs, ys);
+        CubicSpline spline = interpolationService.prepareSpline(points, SplineBoundary.NOT_A_KNOT);
+
+        double[] queries = new double[2001];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = -0.5 + 11.0 * i / (queries.length - 1);
+        }
+        double[] sorted = new double[queries.length];
+        spline.evaluate(queries, sorted);
+
+        double[] reversed = new double[queries.length];
+        double[] reversedOut = new double[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            reversed[i] = queries[queries.length - 1 - i];
+        }
+        spline.evaluate(reversed, reversedOut);
+
+        for (int i = 0; i < queries.length; i++) {
+            assertEquals(spline.evaluate(queries[i]), sorted[i], 0.0);
+            assertEquals(sorted[i], reversedOut[queries.length - 1 - i], 0.0);
+            if (queries[i] >= 0.0 && queries[i] <= xs[n - 1]) {
+                assertEquals(Math.sin(queries[i]), sorted[i], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void testChebyshevInterpolantAvoidsRunge() {
+        int n = 41;
+        double[] nodes = NodeDistribution.CHEBYSHEV.nodes(-1.0, 1.0, n);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = runge(nodes[i]);
+        }
+        for (int i = 1; i < n; i++) {
+            assertTrue(nodes[i - 1] < nodes[i], "Узлы должны идти по возрастанию");
+        }
+
+        ChebyshevInterpolant chebyshev = interpolationService.prepareChebyshev(PointSet.of(nodes, values));
+        assertTrue(chebyshev.isValid(), "Набор должен распознаваться как чебышёвская сетка");
+        assertEquals(-1.0, chebyshev.getStart(), 1e-12);
+        assertEquals(1.0, chebyshev.getEnd(), 1e-12);
+        for (int i = 0; i < n; i++) {
+            assertEquals(values[i], chebyshev.evaluate(nodes[i]), 1e-12, "Интерполянт должен проходить через узлы");
+        }
+
+        double maxError = 0.0;
+        for (double x = -1.0; x <= 1.0; x += 0.01) {
+            maxError = Math.max(maxError, Math.abs(chebyshev.evaluate(x) - runge(x)));
+        }
+        assertTrue(maxError < 1e-3, "Погрешность на узлах Чебышёва должна быть мала: " + maxError);
+
+        double[] uniform = NodeDistribution.UNIFORM.nodes(-1.0, 1.0, n);
+        assertFalse(interpolationService.prepareChebyshev(PointSet.of(uniform, values)).isValid(),
+            "Равномерная сетка не должна приниматься за чебышёвскую");
+    }
+
+    @Test
+    void testParallelExecutorMatchesSequentialBatch() {
+        int n = 15;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = 0.2 * i;
+            ys[i] = Math.exp(-xs[i]) * Math.cos(xs[i]);
+        }
+        PointSet points = PointSet.of(xs, ys);
+
+        double[] queries = new double[5000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = -0.3 + 3.4 * i / (queries.length - 1);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelInterpolationExecutor executor = new ParallelInterpolationExecutor(interpolationService, pool);
+            BatchInterpolationResult result = executor.evaluate(points, EnumSet.allOf(InterpolationMethod.class), queries);
+
+            double[] expected = new double[queries.length];
+            interpolationService.lagrangeInterpolation(points, queries, expected);
+            assertArrayEquals(expected, result.getValues(InterpolationMethod.LAGRANGE), 0.0);
+            interpolationService.newtonDividedDifferences(points, queries, expected);
+            assertArrayEquals(expected, result.getValues(InterpolationMethod.NEWTON_DIVIDED), 0.0);
+            interpolationService.newtonFiniteDifferences(points, queries, expected);
+            assertArrayEquals(expected, result.getValues(InterpolationMethod.NEWTON_FINITE), 0.0);
+            interpolationService.stirlingInterpolation(points, queries, expected);
+            assertArrayEquals(expected, result.getValues(InterpolationMethod.STIRLING), 0.0);
+            interpolationService.besselInterpolation(points, queries, expected);
+            assertArrayEquals(expected, result.getValues(InterpolationMethod.BESSEL), 0.0);
+
+            BatchInterpolationResult partial = executor.evaluate(points, EnumSet.of(InterpolationMethod.BESSEL), queries);
+            assertEquals(EnumSet.of(InterpolationMethod.BESSEL), partial.getMethods());
+            assertThrows(IllegalArgumentException.class, () -> partial.getValues(InterpolationMethod.LAGRANGE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBatchKernelsMatchScalarBitwise() {
+        for (int n : new int[]{2, 5, 13}) {
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = 0.37 * i - 1.0;
+                ys[i] = Math.sin(3.0 * xs[i]) + 0.1 * i;
+            }
+            BarycentricLagrangeInterpolant lagrange = new BarycentricLagrangeInterpolant(xs, ys);
+            NewtonInterpolant newton = new NewtonInterpolant(xs, ys);
+            CubicSpline spline = new CubicSpline(xs, ys, SplineBoundary.NATURAL);
+
+            // Длина не кратна ширине вектора, среди аргументов есть узлы и NaN
+            double[] queries = new double[1003];
+            for (int k = 0; k < queries.length; k++) {
+                queries[k] = k % 97 == 0 ? xs[k % n] : -1.5 + 0.0061 * ((k * 37) % queries.length);
+            }
+            queries[500] = Double.NaN;
+
+            double[] out = new double[queries.length];
+            lagrange.evaluate(queries, out);
+            for (int k = 0; k < queries.length; k++) {
+                assertEquals(lagrange.evaluate(queries[k]), out[k], 0.0, "Лагранж, n = " + n + ", k = " + k);
+            }
+            newton.evaluate(queries, out);
+            for (int k = 0; k < queries.length; k++) {
+                assertEquals(newton.evaluate(queries[k]), out[k], 0.0, "Ньютон, n = " + n + ", k = " + k);
+            }
+            spline.evaluate(queries, out);
+            for (int k = 0; k < queries.length; k++) {
+                assertEquals(spline.evaluate(queries[k]), out[k], 0.0, "Сплайн, n = " + n + ", k = " + k);
+            }
+        }
+    }
+
+    @Test
+    void testFastScalarPathsMatchReference() {
+        ReferenceInterpolation reference = new ReferenceInterpolation();
+        java.util.Random random = new java.util.Random(42);
+        for (int n = 2; n <= 25; n++) {
+            List<InterpolationPoint> points = new ArrayList<>();
+            double[] xs = new double[n];
+            double[] ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = i + 0.5 * random.nextDouble();
+                ys[i] = 10.0 * random.nextGaussian();
+                points.add(new InterpolationPoint(xs[i], ys[i]));
+            }
+            for (int k = 0; k < 20; k++) {
+                double x = -2.0 + (n + 4.0) * random.nextDouble();
+                assertEquals(reference.lagrange(xs, ys, x), interpolationService.lagrangeInterpolation(points, x), 0.0,
+                    "Быстрый Лагранж должен совпадать с эталоном побитово");
+                assertEquals(reference.dividedDifferences(xs, ys, x),
+                    interpolationService.newtonDividedDifferences(points, x), 0.0,
+                    "Быстрые разделённые разности должны совпадать с эталоном побитово");
+            }
+        }
+
+        // Первый множитель больше единицы, второй меньше: эталон переполняется на промежуточном шаге
+        List<InterpolationPoint> large = Arrays.asList(
+            new InterpolationPoint(0.0, 0.0), new InterpolationPoint(5.0, 0.0), new InterpolationPoint(3.0, 1.5e308));
+        assertTrue(Double.isNaN(reference.lagrange(new double[]{0.0, 5.0, 3.0}, new double[]{0.0, 0.0, 1.5e308}, 4.0)));
+        assertEquals(1.0e308, interpolationService.lagrangeInterpolation(large, 4.0), 1e294);
+
+        List<InterpolationPoint> duplicated = Arrays.asList(
+            new InterpolationPoint(1.0, 2.0), new InterpolationPoint(1.0, 3.0), new InterpolationPoint(2.0, 1.0));
+        assertTrue(Double.isNaN(interpolationService.lagrangeInterpolation(duplicated, 1.5)));
+        assertTrue(Double.isNaN(interpolationService.newtonDividedDifferences(duplicated, 1.5)));
+
+        // На 1200 равноотстоящих узлах крайние веса меньше наибольшего в 2^1000+ раз и обращаются в ноль:
+        // остатки в таких узлах не определены, а не равны шуму округления
+        double[] uniform = NodeDistribution.UNIFORM.nodes(-1.0, 1.0, 1200);
+        double[] uniformValues = new double[uniform.length];
+        for (int i = 0; i < uniform.length; i++) {
+            uniformValues[i] = Math.exp(uniform[i]);
+        }
+        CrossValidationResult underflow = interpolationService.crossValidate(PointSet.of(uniform, uniformValues));
+        assertTrue(Double.isNaN(underflow.getResidual(0)), "Остаток при нулевом весе: " + underflow.getResidual(0));
+        assertTrue(Double.isNaN(underflow.getResidual(uniform.length - 1)));
+        assertEquals(0.0, underflow.getResidual(600), 1e-12);
+        assertFalse(underflow.isValid());
+
+        List<InterpolationPoint> infinite = Arrays.asList(
+            new InterpolationPoint(0.0, 1.0), new InterpolationPoint(1.0, Double.POSITIVE_INFINITY));
+        assertTrue(Double.isNaN(interpolationService.lagrangeInterpolation(infinite, 0.5)));
+        assertTrue(Double.isNaN(interpolationService.newtonDividedDifferences(infinite, 0.5)));
+    }
+
+    @Test
+    void testFiniteDifferenceFormulasBeyondLongFactorials() {
+        assertEquals(1.0 / 6.0, Factorials.reciprocalFactorial(3), 0.0);
+        assertEquals(1.0 / 2432902008176640000.0, Factorials.reciprocalFactorial(20), 1e-33);
+        assertEquals(0.25, Factorials.reciprocal(4), 0.0);
+        assertEquals(0.0, Factorials.reciprocalFactorial(200), 0.0);
+
+        List<InterpolationPoint> points = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            double x = -1.2 + 0.1 * i;
+            points.add(new InterpolationPoint(x, Math.exp(x)));
+        }
+        for (double x : new double[]{-1.15, -0.37, 0.05, 1.13}) {
+            assertEquals(Math.exp(x), interpolationService.newtonFiniteDifferences(points, x), 1e-9,
+                "Ньютон (конечные) при 25 узлах, x = " + x);
+            assertEquals(Math.exp(x), interpolationService.stirlingInterpolation(points, x), 1e-9,
+                "Стирлинг при 25 узлах, x = " + x);
+            assertEquals(Math.exp(x), interpolationService.besselInterpolation(points, x), 1e-9,
+                "Бессель при 25 узлах, x = " + x);
+        }
+    }
+
+    @Test
+    void testExtendedPrecisionKeepsDigitsForManyNodes() {
+        int n = 30;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < n; i++) {
+            xs[i] = i / (n - 1.0);
+            ys[i] = Math.sin(7.0 * xs[i]) + 1e-3 * random.nextGaussian();
+        }
+        double x = 0.0123;
+
+        // Точное значение многочлена по тем же double-узлам
+        MathContext context = new MathContext(80);
+        BigDecimal exact = BigDecimal.ZERO;
+        for (int i = 0; i < n; i++) {
+            BigDecimal term = new BigDecimal(ys[i]);
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    term = term.multiply(new BigDecimal(x).subtract(new BigDecimal(xs[j])))
+                               .divide(new BigDecimal(xs[i]).subtract(new BigDecimal(xs[j])), context);
+                }
+            }
+            exact = exact.add(term);
+        }
+
+        ExtendedPrecisionInterpolation extended = new ExtendedPrecisionInterpolation();
+        DoubleDouble lagrange = extended.lagrange(xs, ys, x);
+        DoubleDouble newton = extended.dividedDifferences(xs, ys, x);
+        assertTrue(lagrange.toBigDecimal().subtract(exact).abs().doubleValue() < 1e-22,
+            "Лагранж в double-double должен сохранять больше 20 значащих цифр");
+        assertTrue(newton.toBigDecimal().subtract(exact).abs().doubleValue() < 1e-22,
+            "Ньютон в double-double должен сохранять больше 20 значащих цифр");
+
+        List<InterpolationPoint> points = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            points.add(new InterpolationPoint(xs[i], ys[i]));
+        }
+        double expected = exact.doubleValue();
+        double standard = interpolationService.lagrangeInterpolation(points, x);
+        assertTrue(Math.abs(standard - expected) > 1e-12, "В double при 30 узлах цифры теряются");
+
+        interpolationService.setPrecision(Precision.EXTENDED);
+        assertEquals(expected, interpolationService.lagrangeInterpolation(points, x), Math.ulp(expected));
+        assertEquals(expected, interpolationService.newtonDividedDifferences(points, x), Math.ulp(expected));
+        double[] out = new double[2];
+        interpolationService.newtonDividedDifferences(points, new double[]{x, Double.NaN}, out);
+        assertEquals(expected, out[0], Math.ulp(expected));
+        assertTrue(Double.isNaN(out[1]));
+        double[] lagrangeOut = new double[3];
+        interpolationService.lagrangeInterpolation(points, new double[]{x, Double.NaN, xs[7]}, lagrangeOut);
+        assertEquals(expected, lagrangeOut[0], Math.ulp(expected));
+        assertTrue(Double.isNaN(lagrangeOut[1]));
+        assertEquals(ys[7], lagrangeOut[2], 0.0);
+        BatchInterpolationResult parallel = new ParallelInterpolationExecutor(interpolationService).evaluate(
+            PointSet.of(points), EnumSet.of(InterpolationMethod.LAGRANGE, InterpolationMethod.NEWTON_DIVIDED),
+            new double[]{x});
+        assertEquals(expected, parallel.getValue(InterpolationMethod.LAGRANGE, 0), Math.ulp(expected));
+        assertEquals(expected, parallel.getValue(InterpolationMethod.NEWTON_DIVIDED, 0), Math.ulp(expected));
+
+        List<InterpolationPoint> duplicated = Arrays.asList(
+            new InterpolationPoint(1.0, 2.0), new InterpolationPoint(1.0, 3.0), new InterpolationPoint(2.0, 1.0));
+        assertTrue(Double.isNaN(interpolationService.lagrangeInterpolation(duplicated, 1.5)));
+        assertTrue(Double.isNaN(interpolationService.newtonDividedDifferences(duplicated, 1.5)));
+        assertThrows(IllegalArgumentException.class, () -> interpolationService.setPrecision(null));
+    }
+
+    @Test
+    void testFloaterHormannOnLargeUniformGrid() {
+        int n = 2001;
+        double[] xs = NodeDistribution.UNIFORM.nodes(-1.0, 1.0, n);
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            ys[i] = runge(xs[i]);
+        }
+        PointSet points = PointSet.of(xs, ys);
+        FloaterHormannInterpolant rational = interpolationService.prepareFloaterHormann(points, 3);
+        assertTrue(rational.isValid());
+
+        double[] queries = new double[777];
+        double[] out = new double[queries.length];
+        for (int k = 0; k < queries.length; k++) {
+            queries[k] = -1.0 + 2.0 * (k + 0.37) / queries.length;
+        }
+        rational.evaluate(queries, out);
+        for (int k = 0; k < queries.length; k++) {
+            assertEquals(runge(queries[k]), out[k], 1e-10, "Функция Рунге на 2001 узле, x = " + queries[k]);
+            assertEquals(rational.evaluate(queries[k]), out[k], 1e-15);
+        }
+        assertEquals(ys[1000], rational.evaluate(xs[1000]), 0.0);
+
+        // Многочлены степени не выше d воспроизводятся точно, в том числе на неравномерной сетке
+        double[] irregular = {-1.0, -0.7, -0.55, -0.1, 0.2, 0.25, 0.6, 0.9, 1.3};
+        double[] cubic = new double[irregular.length];
+        for (int i = 0; i < irregular.length; i++) {
+            cubic[i] = 2 * Math.pow(irregular[i], 3) - irregular[i] + 4;
+        }
+        FloaterHormannInterpolant exact = new FloaterHormannInterpolant(irregular, cubic, 3);
+        for (double x : new double[]{-0.9, -0.3, 0.41, 1.1}) {
+            assertEquals(2 * x * x * x - x + 4, exact.evaluate(x), 1e-12, "Кубический многочлен, x = " + x);
+        }
+
+        // При d >= n-1 получается интерполяционный многочлен
+        List<InterpolationPoint> five = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            five.add(new InterpolationPoint(i * 0.5, quartic(i * 0.5)));
+        }
+        FloaterHormannInterpolant polynomial = interpolationService.prepareFloaterHormann(five, 10);
+        assertEquals(4, polynomial.getDegree());
+        assertEquals(quartic(1.3), polynomial.evaluate(1.3), 1e-10);
+
+        List<InterpolationPoint> duplicated = Arrays.asList(
+            new InterpolationPoint(1.0, 2.0), new InterpolationPoint(1.0, 3.0), new InterpolationPoint(2.0, 1.0));
+        assertFalse(interpolationService.prepareFloaterHormann(duplicated, 1).isValid());
+        assertThrows(IllegalArgumentException.class, () -> interpolationService.prepareFloaterHormann(five, -1));
+    }
+
+    @Test
+    void testLeaveOneOutMatchesNaiveRefits() {
+        ReferenceInterpolation reference = new ReferenceInterpolation();
+        java.util.Random random = new java.util.Random(3);
+        int n = 12;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = i + 0.6 * random.nextDouble();
+            ys[i] = Math.cos(0.4 * xs[i]) + 0.01 * random.nextGaussian();
+        }
+        PointSet points = PointSet.of(xs, ys);
+        CrossValidationResult validation = interpolationService.crossValidate(points);
+        assertTrue(validation.isValid());
+
+        double naiveMax = 0.0;
+        for (int k = 0; k < n; k++) {
+            double[] restX = new double[n - 1];
+            double[] restY = new double[n - 1];
+            for (int j = 0, m = 0; j < n; j++) {
+                if (j != k) {
+                    restX[m] = xs[j];
+                    restY[m++] = ys[j];
+                }
+            }
+            double residual = ys[k] - reference.lagrange(restX, restY, xs[k]);
+            assertEquals(residual, validation.getResidual(k), 1e-9 * Math.max(1.0, Math.abs(residual)),
+                "Остаток в узле " + k);
+            naiveMax = Math.max(naiveMax, Math.abs(residual));
+        }
+        assertEquals(naiveMax, validation.getMaxError(), 1e-9 * naiveMax);
+        assertEquals(xs[validation.getWorstIndex()], validation.getWorstX(), 0.0);
+
+        // Тысячи чебышёвских узлов гладкой функции: оценка ошибки остаётся малой
+        double[] nodes = NodeDistribution.CHEBYSHEV.nodes(-1.0, 1.0, 3000);
+        double[] values = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            values[i] = Math.exp(nodes[i]);
+        }
+        CrossValidationResult large = interpolationService.crossValidate(PointSet.of(nodes, values));
+        assertTrue(large.getMaxError() < 1e-8, "Ошибка скользящего контроля: " + large.getMaxError());
+
+        List<InterpolationPoint> infinite = Arrays.asList(
+            new InterpolationPoint(0.0, 1.0), new InterpolationPoint(1.0, Double.POSITIVE_INFINITY));
+        CrossValidationResult invalid = interpolationService.crossValidate(infinite);
+        assertFalse(invalid.isValid());
+        assertTrue(Double.isNaN(invalid.getMaxError()));
+    }
+
+    @Test
+    void testNodeCountSweepShowsRungePhenomenon() {
+        NodeCountSweep sweep = new NodeCountSweep(new ForkJoinPool(3));
+        NodeSweepResult uniform = sweep.sweep(InterpolationTest::runge, -1.0, 1.0, NodeDistribution.UNIFORM, 33, 1001);
+        NodeSweepResult chebyshev = sweep.sweep(InterpolationTest::runge, -1.0, 1.0, NodeDistribution.CHEBYSHEV, 33, 1001);
+        assertEquals(32, uniform.size());
+        assertEquals(2, uniform.getNodeCount(0));
+        assertEquals(1001, uniform.getSamples());
+
+        // При 2^k + 1 вложенных узлах сетка равномерная, и на ней многочлен расходится у концов отрезка
+        assertTrue(uniform.getMaxError(31) > 10 * uniform.getMaxError(7), "Равномерные узлы: эффект Рунге");
+        assertTrue(chebyshev.getMaxError(31) < 0.05, "Узлы Чебышёва: ошибка убывает");
+        assertTrue(chebyshev.getMaxError(31) < chebyshev.getMaxError(7));
+        assertTrue(uniform.getBestNodeCount() < 33);
+
+        // Наращивание по одному узлу совпадает с отдельным построением по тем же узлам
+        double[] nodes = NodeDistribution.UNIFORM.nestedNodes(-1.0, 1.0, 9);
+        double[] values = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            values[i] = runge(nodes[i]);
+        }
+        NewtonInterpolant direct = new NewtonInterpolant(nodes, values);
+        double maxError = 0.0;
+        double sumOfSquares = 0.0;
+        for (int k = 0; k < 1001; k++) {
+            double x = -1.0 + 2.0 * k / 1000.0;
+            double error = Math.abs(direct.evaluate(x) - runge(x));
+            maxError = Math.max(maxError, error);
+            sumOfSquares += error * error;
+        }
+        assertEquals(maxError, uniform.getMaxError(7), 1e-12);
+        assertEquals(Math.sqrt(sumOfSquares / 1001), uniform.getRmsError(7), 1e-12);
+
+        double[] sorted = NodeDistribution.UNIFORM.nestedNodes(0.0, 1.0, 9);
+        Arrays.sort(sorted);
+        assertArrayEquals(NodeDistribution.UNIFORM.nodes(0.0, 1.0, 9), sorted, 1e-15);
+        assertEquals(ReferenceFunction.COS_LOG, ReferenceFunction.fromDisplayName("cos(3x) + ln(x+2)"));
+        assertTrue(Double.isNaN(ReferenceFunction.COS_LOG.evaluate(-3.0)));
+        assertThrows(IllegalArgumentException.class,
+            () -> sweep.sweep(InterpolationTest::runge, 1.0, -1.0, NodeDistribution.UNIFORM, 10, 100));
+    }
+
+    @Test
+    void testErrorProfileAgainstTrueFunction() {
+        double[] xs = NodeDistribution.UNIFORM.nodes(-1.0, 1.0, 9);
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            ys[i] = runge(xs[i]);
+        }
+        PointSet points = PointSet.of(xs, ys);
+        ErrorProfileEngine engine = new ErrorProfileEngine(interpolationService, new ForkJoinPool(2));
+        int samples = 100_001;
+        ErrorProfile profile = engine.profile(points, EnumSet.allOf(InterpolationMethod.class),
+                InterpolationTest::runge, -1.0, 1.0, samples);
+        assertEquals(EnumSet.allOf(InterpolationMethod.class), profile.getMethods());
+
+        double[] grid = new double[samples];
+        for (int k = 0; k < samples; k++) {
+            grid[k] = k == samples - 1 ? 1.0 : -1.0 + k * (2.0 / (samples - 1));
+        }
+        double[] lagrange = new double[samples];
+        interpolationService.lagrangeInterpolation(points, grid, lagrange);
+        double max = 0.0;
+        double worst = Double.NaN;
+        double sum = 0.0;
+        for (int k = 0; k < samples; k++) {
+            double error = Math.abs(lagrange[k] - runge(grid[k]));
+            if (error > max) {
+                max = error;
+                worst = grid[k];
+            }
+            sum += error;
+        }
+        ErrorStatistics statistics = profile.getStatistics(InterpolationMethod.LAGRANGE);
+        assertEquals(max, statistics.getMaxError(), 1e-12);
+        assertEquals(worst, statistics.getWorstX(), 1e-9);
+        assertEquals(sum / samples, statistics.getMeanError(), 1e-12);
+        assertEquals(samples, statistics.getSamples());
+        assertTrue(statistics.getRmsError() >= statistics.getMeanError());
+        // Эффект Рунге: худшая точка у края отрезка; по нечётному числу узлов Бессель строит другой многочлен
+        assertTrue(Math.abs(worst) > 0.8);
+        for (InterpolationMethod method : EnumSet.complementOf(EnumSet.of(InterpolationMethod.BESSEL))) {
+            assertEquals(max, profile.getStatistics(method).getMaxError(), 1e-9, method.getDisplayName());
+        }
+
+        ErrorStatistics partial = ErrorStatistics.of(new double[]{0, 1, 2}, new double[]{1, Double.NaN, 3},
+                new double[]{1.5, 2, Double.NaN});
+        assertEquals(1, partial.getSamples());
+        assertEquals(1, partial.getFailures());
+        assertEquals(0.5, partial.getMaxError(), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> engine.profile(points,
+                EnumSet.of(InterpolationMethod.LAGRANGE), InterpolationTest::runge, 1.0, -1.0, 10));
+    }
+
+    @Test
+    void testStreamingParserMatchesStandardParsing() throws Exception {
+        FileService fileService = new FileService();
+        File file = File.createTempFile("points", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("\uFEFF# комментарий\n// ещё один\n\n1 2\n  3,4  \n5\t6 лишнее\n"
+                + "-1.5e2, 2.5E-3\n1,5; 2,25\nNaN 1\n-inf Infinity\nabc 1\n7\n0x1p3 1d\n"
+                + "12345678901234567890.5 0.1\r\n8 9").getBytes(StandardCharsets.UTF_8));
+
+        List<InterpolationPoint> points = fileService.loadInterpolationPoints(file);
+        double[][] expected = {{1, 2}, {3, 4}, {5, 6}, {-150, 0.0025}, {1.5, 2.25}, {Double.NaN, 1},
+                {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}, {8, 1}, {12345678901234567890.5, 0.1}, {8, 9}};
+        assertEquals(expected.length, points.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i][0], points.get(i).getX(), 0.0, "x в точке " + i);
+            assertEquals(expected[i][1], points.get(i).getY(), 0.0, "y в точке " + i);
+        }
+
+        // Строки длиннее одного блока чтения и все распространённые записи чисел: результат побитово как у Double.parseDouble
+        java.util.Random random = new java.util.Random(11);
+        StringBuilder text = new StringBuilder();
+        double[] xs = new double[20000];
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15);
+            String x;
+            switch (i % 4) {
+                case 0: x = Double.toString(value); break;
+                case 1: x = String.format(java.util.Locale.ROOT, "%.6f", value); break;
+                case 2: x = String.format(java.util.Locale.ROOT, "%.17e", value); break;
+                default: x = String.format(java.util.Locale.ROOT, "%.3e", value); break;
+            }
+            String y = Long.toString(random.nextInt());
+            xs[i] = Double.parseDouble(x);
+            ys[i] = Double.parseDouble(y);
+            text.append(x).append(i % 2 == 0 ? ", " : "\t").append(y).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Files.write(file.toPath(), text.toString().getBytes(StandardCharsets.UTF_8));
+        PointSet loaded = fileService.loadPointSet(file);
+        PointSet direct = PointSet.of(xs, ys);
+        assertEquals(direct.size(), loaded.size());
+        for (int i = 0; i < direct.size(); i++) {
+            assertEquals(Double.doubleToLongBits(direct.getX(i)), Double.doubleToLongBits(loaded.getX(i)), "x №" + i);
+            assertEquals(Double.doubleToLongBits(direct.getY(i)), Double.doubleToLongBits(loaded.getY(i)), "y №" + i);
+        }
+    }
+
+    @Test
+    void testParallelLoaderMatchesSequentialLoading() throws Exception {
+        File file = File.createTempFile("points", ".txt");
+        file.deleteOnExit();
+        java.util.Random random = new java.util.Random(5);
+        StringBuilder text = new StringBuilder("# заголовок\n");
+        for (int i = 0; i < 5000; i++) {
+            if (i % 997 == 0) {
+                text.append("ошибка ").append(i).append('\n');
+            }
+            // Повторяющиеся x проверяют устойчивость сортировки при слиянии кусков
+            text.append(random.nextInt(2000) / 8.0).append(i % 2 == 0 ? ", " : " ").append(random.nextGaussian())
+                    .append(i % 5 == 0 ? "\r\n" : "\n");
+        }
+        text.append("nan 1\n1 2");
+        Files.write(file.toPath(), text.toString().getBytes(StandardCharsets.UTF_8));
+
+        PointSet sequential = new FileService().loadPointSet(file);
+        PointLoadReport report = new ParallelPointLoader(ForkJoinPool.commonPool(), 4096).load(file);
+        PointSet parallel = report.getPoints();
+        assertTrue(report.getChunks() > 10, "Файл должен разбиться на куски");
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(Double.doubleToLongBits(sequential.getX(i)), Double.doubleToLongBits(parallel.getX(i)), "x №" + i);
+            assertEquals(Double.doubleToLongBits(sequential.getY(i)), Double.doubleToLongBits(parallel.getY(i)), "y №" + i);
+        }
+        assertEquals(5002, report.getLoadedPoints());
+        assertEquals(5001, report.getValidPoints());
+        assertEquals(7, report.getInvalidPoints());
+        assertEquals(6, report.getMalformedLines());
+        assertEquals(5009, report.getLines());
+        assertArrayEquals(new int[]{2, 1000, 1998, 2996, 3994, 4992}, report.getErrorLines());
+    }
+
+    @Test
+    void testBinaryPointFileRoundTrip() throws Exception {
+        FileService fileService = new FileService();
+        File file = File.createTempFile("points", ".ipts");
+        file.deleteOnExit();
+        java.util.Random random = new java.util.Random(8);
+        double[] xs = new double[100_000];
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextGaussian() * 1e3;
+            ys[i] = i % 1000 == 0 ? Double.NaN : Math.sin(xs[i]) / 3.0;
+        }
+        PointSet points = PointSet.of(xs, ys);
+        fileService.saveBinaryPointSet(points, file);
+        assertTrue(fileService.isBinaryPointFile(file));
+        assertEquals(32 + 16L * xs.length, file.length());
+
+        BinaryPointFile mapped = fileService.mapBinaryPointSet(file);
+        assertEquals(points.size(), mapped.size());
+        assertTrue(mapped.isSorted());
+        assertFalse(mapped.isUniform());
+        assertTrue(Double.isNaN(mapped.getStep()));
+        PointSet loaded = fileService.loadBinaryPointSet(file);
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(Double.doubleToLongBits(points.getX(i)), Double.doubleToLongBits(mapped.getX(i)), "x №" + i);
+            assertEquals(Double.doubleToLongBits(points.getY(i)), Double.doubleToLongBits(mapped.getY(i)), "y №" + i);
+            assertEquals(Double.doubleToLongBits(points.getY(i)), Double.doubleToLongBits(loaded.getY(i)), "y №" + i);
+        }
+
+        // Равномерная сетка сохраняет шаг, пустой набор тоже записывается
+        fileService.saveBinaryPointSet(PointSet.of(new double[]{0.0, 0.25, 0.5}, new double[]{1, 2, 3}), file);
+        mapped = fileService.mapBinaryPointSet(file);
+        assertTrue(mapped.isUniform());
+        assertEquals(0.25, mapped.getStep(), 0.0);
+        fileService.saveBinaryPointSet(PointSet.of(new double[0], new double[0]), file);
+        assertTrue(fileService.loadBinaryPointSet(file).isEmpty());
+
+        Files.write(file.toPath(), "1 2\n3 4\n".getBytes(StandardCharsets.UTF_8));
+        assertFalse(fileService.isBinaryPointFile(file));
+        assertThrows(java.io.IOException.class, () -> fileService.loadBinaryPointSet(file));
+    }
+
+    @Test
+    void testOffHeapStorageMatchesHeapPiecewise() throws Exception {
+        FileService fileService = new FileService();
+        File file = File.createTempFile("points", ".ipts");
+        file.deleteOnExit();
+        java.util.Random random = new java.util.Random(13);
+        double[] xs = new double[50_000];
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextDouble() * 100.0;
+            ys[i] = Math.sin(xs[i]) + (i == 777 ? 50.0 : 0.0);
+        }
+        PointSet points = PointSet.of(xs, ys);
+        fileService.saveBinaryPointSet(points, file);
+
+        assertTrue(fileService.isOffHeapStorageSupported());
+        OffHeapPointStorage storage = fileService.openOffHeapPointStorage(file);
+        try (storage) {
+            assertEquals(points.size(), storage.size());
+            assertTrue(storage.isSorted());
+            PiecewiseInterpolant heap = interpolationService.preparePiecewise(points,
+                    InterpolationMethod.NEWTON_DIVIDED, 3);
+            OffHeapPiecewiseInterpolant offHeap = interpolationService.preparePiecewise(storage, 3);
+            for (int k = 0; k <= 2000; k++) {
+                double x = -1.0 + 102.0 * k / 2000.0;
+                double expected = heap.evaluate(x);
+                assertEquals(expected, offHeap.evaluate(x), 1e-9 * Math.max(1.0, Math.abs(expected)), "x = " + x);
+            }
+
+            // Огибающая сохраняет выброс и крайние значения
+            PointSet envelope = storage.decimate(500);
+            assertTrue(envelope.size() <= 1000);
+            assertEquals(points.getMaxY(), envelope.getMaxY(), 0.0);
+            assertEquals(points.getMinY(), envelope.getMinY(), 0.0);
+        }
+        assertThrows(IllegalStateException.class, () -> storage.getX(0));
+
+        // Равномерная сетка в памяти вне кучи
+        double[] grid = new double[101];
+        double[] values = new double[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = i * 0.01;
+            values[i] = Math.exp(grid[i]);
+        }
+        try (OffHeapPointStorage uniform = OffHeapPointStorage.copyOf(PointSet.of(grid, values))) {
+            assertTrue(uniform.isUniform());
+            OffHeapPiecewiseInterpolant interpolant = interpolationService.preparePiecewise(uniform, 4);
+            assertEquals(Math.exp(0.505), interpolant.evaluate(0.505), 1e-10);
+            assertEquals(Math.exp(0.999), interpolant.evaluate(0.999), 1e-10);
+        }
+    }
+
+    @Test
+    void testLoadMonitorReportsProgressAndCancels() throws Exception {
+        FileService fileService = new FileService();
+        File file = File.createTempFile("points", ".txt");
+        file.deleteOnExit();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            text.append(i).append(' ').append(i * 0.5).append('\n');
+        }
+        Files.write(file.toPath(), text.toString().getBytes(StandardCharsets.UTF_8));
+
+        long[] last = new long[2];
+        LoadMonitor recording = new LoadMonitor() {
+            @Override
+            public void progress(long processedBytes, long totalBytes) {
+                assertTrue(processedBytes >= last[0], "Прогресс не должен убывать");
+                last[0] = processedBytes;
+                last[1] = totalBytes;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+        };
+        assertEquals(50_000, fileService.loadInterpolationPoints(file, recording).size());
+        assertEquals(file.length(), last[0]);
+        assertEquals(file.length(), last[1]);
+
+        // Отмена после первого блока прерывает и последовательную, и параллельную загрузку
+        java.util.concurrent.atomic.AtomicBoolean cancelled = new java.util.concurrent.atomic.AtomicBoolean();
+        LoadMonitor cancelling = new LoadMonitor() {
+            @Override
+            public void progress(long processedBytes, long totalBytes) {
+                cancelled.set(true);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled.get();
+            }
+        };
+        assertThrows(java.util.concurrent.CancellationException.class,
+                () -> fileService.loadInterpolationPoints(file, cancelling));
+        cancelled.set(false);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            assertThrows(java.util.concurrent.CancellationException.class,
+                    () -> new ParallelPointLoader(pool, 4096).load(file, cancelling));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static double runge(double x) {
+        return 1.0 / (1.0 + 25.0 * x * x);
+    }
+
+    private static double quintic(double x) {
+        return Math.pow(x, 5) - 2 * x * x * x + x - 1;
+    }
+
+    private static double quartic(double x) {
+        return 3 * Math.pow(x, 4) - x * x + 2;
+    }
 }